@@ -0,0 +1,74 @@
+package com.orientechnologies.pokec.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of keys of profiles which is done by workload tasks before each operation. Generator is shared between
+ * all threads as it is shared between workload tasks, so run it with <code>-t</code> equal to amount of threads of workload to
+ * check that the benchmark driver is not the bottleneck at high concurrency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class KeyGenerationBenchmark {
+  /**
+   * Amount of profiles in Pokec data set.
+   */
+  private static final long ITEMS_COUNT = 1_632_803;
+
+  private ZipfianGenerator zipfianGenerator;
+  private KeyDistribution  keyDistribution;
+
+  @State(Scope.Thread)
+  public static class ItemCounter {
+    private long item;
+
+    long next() {
+      return item++;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    final double zeta = ZipfianGenerator.zetastatic(ITEMS_COUNT, ZipfianGenerator.ZIPFIAN_CONSTANT);
+
+    zipfianGenerator = new ZipfianGenerator(0, ITEMS_COUNT - 1, ZipfianGenerator.ZIPFIAN_CONSTANT, zeta);
+    keyDistribution = new ZipfianKeyDistribution(ITEMS_COUNT, ZipfianGenerator.ZIPFIAN_CONSTANT);
+  }
+
+  @Benchmark
+  public long zipfianNextLong() {
+    return zipfianGenerator.nextLong();
+  }
+
+  @Benchmark
+  public long fnvHash64(ItemCounter counter) {
+    return FNVHash.FNVhash64(counter.next());
+  }
+
+  @Benchmark
+  public String generateKey(ItemCounter counter) {
+    return KeyGenerator.generateKey(counter.next());
+  }
+
+  @Benchmark
+  public String generateZipfianKey() {
+    return KeyGenerator.generateKey(keyDistribution, ITEMS_COUNT);
+  }
+}
@@ -0,0 +1,123 @@
+package com.orientechnologies.pokec.load;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing of lines of Pokec dumps by {@link PokecLineParser} and {@link PokecRelationsReader} with parsing by splitting
+ * of lines into strings. Lines are generated to resemble lines of the original dumps, every benchmark method parses
+ * {@link #LINES_COUNT} lines, so run it with <code>-prof gc</code> to compare allocation rate per line.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileParserBenchmark {
+  private static final int LINES_COUNT = 1024;
+
+  private static final String[] WORDS = { "null", "null", "null", "hudba", "\u0161port", "cestovanie", "pes, ma\u010dka",
+      "kino a divadlo", "nefaj\u010diar", "pr\u00edle\u017eitostne", "zelen\u00e1", "hned\u00e9",
+      "stredo\u0161kolsk\u00e9", "rock, pop, techno", "ve\u013emi r\u00e1d" };
+
+  private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd kk:mm:ss.n");
+  private final PokecLineParser   lineParser        = new PokecLineParser();
+
+  private byte[][] profileLines;
+  private byte[]   relations;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+
+    profileLines = new byte[LINES_COUNT][];
+    for (int i = 0; i < LINES_COUNT; i++) {
+      profileLines[i] = generateProfileLine(i + 1, random).getBytes(StandardCharsets.UTF_8);
+    }
+
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < LINES_COUNT; i++) {
+      builder.append(random.nextInt(1_632_803) + 1).append('\t').append(random.nextInt(1_632_803) + 1).append('\n');
+    }
+    relations = builder.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Benchmark
+  public void splitProfiles(Blackhole blackhole) {
+    for (byte[] line : profileLines) {
+      blackhole.consume(SplitProfileParser.parseProfile(dateTimeFormatter, new String(line, StandardCharsets.UTF_8)));
+    }
+  }
+
+  @Benchmark
+  public void byteProfiles(Blackhole blackhole) {
+    for (byte[] line : profileLines) {
+      blackhole.consume(lineParser.parseProfile(line, 0, line.length));
+    }
+  }
+
+  @Benchmark
+  public void splitRelations(Blackhole blackhole) throws IOException {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(new ByteArrayInputStream(relations), StandardCharsets.US_ASCII))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final String[] relation = line.split("\\t");
+        blackhole.consume(Integer.parseInt(relation[0]));
+        blackhole.consume(Integer.parseInt(relation[1]));
+      }
+    }
+  }
+
+  @Benchmark
+  public void byteRelations(Blackhole blackhole) throws IOException {
+    final PokecRelationsReader reader = new PokecRelationsReader(new ByteArrayInputStream(relations));
+    final int[] relation = new int[2];
+    while (reader.readRelation(relation)) {
+      blackhole.consume(relation[0]);
+      blackhole.consume(relation[1]);
+    }
+  }
+
+  /**
+   * @return Line of profiles dump with given user id and random content.
+   */
+  static String generateProfileLine(int userId, Random random) {
+    final StringBuilder builder = new StringBuilder();
+    builder.append(userId).append('\t');
+    builder.append(random.nextInt(2)).append('\t');
+    builder.append(random.nextInt(101)).append('\t');
+    builder.append(random.nextInt(4) == 0 ? "null" : String.valueOf(random.nextInt(2))).append('\t');
+    builder.append("zilinsky kraj, zilina").append('\t');
+    builder.append(String.format("2012-%02d-%02d %02d:%02d:%02d.0", random.nextInt(12) + 1, random.nextInt(28) + 1,
+        random.nextInt(24), random.nextInt(60), random.nextInt(60))).append('\t');
+    builder.append(String.format("20%02d-%02d-%02d 00:00:00.0", random.nextInt(12), random.nextInt(12) + 1,
+        random.nextInt(28) + 1)).append('\t');
+    builder.append(random.nextInt(4) == 0 ? "null" : String.valueOf(random.nextInt(60) + 10));
+
+    for (int i = 8; i < 59; i++) {
+      builder.append('\t').append(WORDS[random.nextInt(WORDS.length)]);
+    }
+
+    return builder.toString();
+  }
+}
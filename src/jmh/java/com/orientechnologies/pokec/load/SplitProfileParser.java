@@ -0,0 +1,106 @@
+package com.orientechnologies.pokec.load;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Parser of profiles which was used before {@link PokecLineParser}, it splits each line by regular expression and parses dates
+ * using {@link DateTimeFormatter}. It is kept as a baseline for {@link ProfileParserBenchmark}.
+ */
+final class SplitProfileParser {
+  private static final String NULL_STRING = "null";
+
+  static PokecProfile parseProfile(DateTimeFormatter dateTimeFormatter, String line) {
+    final String[] fields = line.split("\\t");
+    final PokecProfile pokecProfile = new PokecProfile();
+    pokecProfile.user_id = Integer.parseInt(fields[0]);
+    pokecProfile.public_profile = Integer.parseInt(fields[1]) == 1;
+    pokecProfile.completion_percentage = Integer.parseInt(fields[2]);
+
+    if (!fields[3].equals(NULL_STRING)) {
+      pokecProfile.gender = Integer.parseInt(fields[3]) == 1;
+    }
+
+    pokecProfile.region = fields[4];
+
+    if (!fields[5].equals(NULL_STRING)) {
+      pokecProfile.last_login = convertToDateTime(fields[5], dateTimeFormatter);
+    }
+
+    if (!fields[6].equals(NULL_STRING)) {
+      pokecProfile.registration = convertToDateTime(fields[6], dateTimeFormatter);
+    }
+
+    if (!fields[7].equals(NULL_STRING)) {
+      pokecProfile.age = Integer.parseInt(fields[7]);
+    }
+
+    pokecProfile.body = processString(fields[8]);
+    pokecProfile.i_am_working_in_field = processString(fields[9]);
+    pokecProfile.spoken_languages = processString(fields[10]);
+    pokecProfile.hobbies = processString(fields[11]);
+    pokecProfile.i_most_enjoy_good_food = processString(fields[12]);
+    pokecProfile.pets = processString(fields[13]);
+    pokecProfile.body_type = processString(fields[14]);
+    pokecProfile.my_eyesight = processString(fields[15]);
+    pokecProfile.eye_color = processString(fields[16]);
+    pokecProfile.hair_color = processString(fields[17]);
+    pokecProfile.hair_type = processString(fields[18]);
+    pokecProfile.completed_level_of_education = processString(fields[19]);
+    pokecProfile.favourite_color = processString(fields[20]);
+    pokecProfile.relation_to_smoking = processString(fields[21]);
+    pokecProfile.relation_to_alcohol = processString(fields[22]);
+    pokecProfile.sign_in_zodiac = processString(fields[23]);
+    pokecProfile.on_pokec_i_am_looking_for = processString(fields[24]);
+    pokecProfile.love_is_for_me = processString(fields[25]);
+    pokecProfile.relation_to_casual_sex = processString(fields[26]);
+    pokecProfile.my_partner_should_be = processString(fields[27]);
+    pokecProfile.marital_status = processString(fields[28]);
+    pokecProfile.children = processString(fields[29]);
+    pokecProfile.relation_to_children = processString(fields[30]);
+    pokecProfile.i_like_movies = processString(fields[31]);
+    pokecProfile.i_like_watching_movie = processString(fields[32]);
+    pokecProfile.i_like_music = processString(fields[33]);
+    pokecProfile.i_mostly_like_listening_to_music = processString(fields[34]);
+    pokecProfile.the_idea_of_good_evening = processString(fields[35]);
+    pokecProfile.i_like_specialties_from_kitchen = processString(fields[36]);
+    pokecProfile.fun = processString(fields[37]);
+    pokecProfile.i_am_going_to_concerts = processString(fields[38]);
+    pokecProfile.my_active_sports = processString(fields[39]);
+    pokecProfile.my_passive_sports = processString(fields[40]);
+    pokecProfile.profession = processString(fields[41]);
+    pokecProfile.i_like_books = processString(fields[42]);
+    pokecProfile.life_style = processString(fields[43]);
+    pokecProfile.music = processString(fields[44]);
+    pokecProfile.cars = processString(fields[45]);
+    pokecProfile.politics = processString(fields[46]);
+    pokecProfile.relationships = processString(fields[47]);
+    pokecProfile.art_culture = processString(fields[48]);
+    pokecProfile.hobbies_interests = processString(fields[49]);
+    pokecProfile.science_technologies = processString(fields[50]);
+    pokecProfile.computers_internet = processString(fields[51]);
+    pokecProfile.education = processString(fields[52]);
+    pokecProfile.sport = processString(fields[53]);
+    pokecProfile.movies = processString(fields[54]);
+    pokecProfile.travelling = processString(fields[55]);
+    pokecProfile.health = processString(fields[56]);
+    pokecProfile.companies_brands = processString(fields[57]);
+    pokecProfile.more = processString(fields[58]);
+    return pokecProfile;
+  }
+
+  private static Date convertToDateTime(String value, DateTimeFormatter dateTimeFormatter) {
+    final LocalDateTime localDate = LocalDateTime.from(dateTimeFormatter.parse(value));
+    return Date.from(localDate.atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+  private static String processString(String value) {
+    if (value.equals(NULL_STRING)) {
+      return null;
+    }
+
+    return value;
+  }
+}
@@ -0,0 +1,106 @@
+package com.orientechnologies.pokec.load;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.pokec.common.KeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures construction of vertices of profiles in the same way as it is done by {@link PokecProfileLoader} against in-memory
+ * database. <code>createVertices</code> rolls transaction back, so it shows time spent on the client side only,
+ * <code>storeVertices</code> commits transaction and shows full cost of load of single batch of profiles. Every benchmark method
+ * processes {@link #batchSize} profiles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertexCreationBenchmark {
+  private static final int    PROFILES_COUNT = 1024;
+  private static final String DB_NAME        = "vertexCreationBenchmark";
+
+  @Param({ "1", "100" })
+  private int batchSize;
+
+  private final PokecProfile[] profiles = new PokecProfile[PROFILES_COUNT];
+
+  private OrientDB         orientDB;
+  private ODatabaseSession session;
+
+  private int userId;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    final PokecLineParser lineParser = new PokecLineParser();
+
+    for (int i = 0; i < PROFILES_COUNT; i++) {
+      final byte[] line = ProfileParserBenchmark.generateProfileLine(i + 1, random).getBytes(StandardCharsets.UTF_8);
+      profiles[i] = lineParser.parseProfile(line, 0, line.length);
+    }
+
+    orientDB = new OrientDB("memory:", OrientDBConfig.defaultConfig());
+    orientDB.create(DB_NAME, ODatabaseType.MEMORY);
+    PokecLoad.generateSchema(orientDB, "memory:" + DB_NAME, DB_NAME, true, null);
+
+    session = orientDB.open(DB_NAME, "admin", "admin");
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+    orientDB.drop(DB_NAME);
+    orientDB.close();
+  }
+
+  @Benchmark
+  public void createVertices(Blackhole blackhole) {
+    session.begin();
+    for (int i = 0; i < batchSize; i++) {
+      blackhole.consume(PokecProfileLoader.createVertex(session, nextProfile()));
+    }
+    session.rollback();
+  }
+
+  @Benchmark
+  public void storeVertices(Blackhole blackhole) {
+    session.begin();
+    for (int i = 0; i < batchSize; i++) {
+      blackhole.consume(PokecProfileLoader.createVertex(session, nextProfile()));
+    }
+    session.commit();
+  }
+
+  /**
+   * @return Next profile of the generated set with unique user id and key, so stored profiles do not violate unique indexes.
+   */
+  private PokecProfile nextProfile() {
+    final PokecProfile pokecProfile = profiles[userId % PROFILES_COUNT];
+
+    pokecProfile.user_id = userId + 1;
+    pokecProfile.key = KeyGenerator.generateKey(userId);
+    userId++;
+
+    return pokecProfile;
+  }
+}
@@ -3,8 +3,20 @@ package com.orientechnologies.pokec;
 import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.pokec.common.ArrivalSchedule;
 import com.orientechnologies.pokec.common.CommandLineUtils;
-import com.orientechnologies.pokec.common.ZipfianGenerator;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import com.orientechnologies.pokec.common.KeyTable;
+import com.orientechnologies.pokec.common.LatencyHistograms;
+import com.orientechnologies.pokec.common.LookupMode;
+import com.orientechnologies.pokec.common.PhaseProfiler;
+import com.orientechnologies.pokec.common.ResultDocuments;
+import com.orientechnologies.pokec.common.RetryPolicy;
+import com.orientechnologies.pokec.common.SessionMode;
+import com.orientechnologies.pokec.common.SteadyStateDetector;
 import com.orientechnologies.pokec.load.PokecLoad;
 import com.orientechnologies.pokec.read.PokecReader;
 import org.apache.commons.cli.CommandLine;
@@ -14,20 +26,21 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
+import org.HdrHistogram.Histogram;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class PokecWorkload {
   private static final long NANOS_IN_HOURS   = 1_000_000_000L * 60 * 60;
@@ -40,179 +53,428 @@ public abstract class PokecWorkload {
     CommandLineParser parser = new DefaultParser();
     try {
       CommandLine cmd = parser.parse(options, args);
+      configure(cmd);
 
+      final long existingProfiles;
       final long profilesCount;
       try (OrientDB orientDB = CommandLineUtils.createOrientDBInstance(cmd)) {
         final String dbName = CommandLineUtils.dbName(cmd);
         System.out.println("Opening " + dbName + " database");
         try (ODatabaseSession databaseSession = orientDB.open(dbName, "admin", "admin")) {
-          profilesCount = databaseSession.countClass(PokecLoad.PROFILE_CLASS);
+          existingProfiles = databaseSession.countClass(PokecLoad.PROFILE_CLASS);
+          System.out.printf("%d profiles were detected \n", existingProfiles);
+
+          profilesCount = Math.max(existingProfiles, getMaxUserId(databaseSession));
+          if (profilesCount > existingProfiles) {
+            System.out.printf("%d profiles were deleted by previous workloads, their keys are skipped\n",
+                profilesCount - existingProfiles);
+          }
+
+          prepare(cmd, databaseSession, profilesCount);
         }
-        System.out.printf("%d profiles were detected \n", profilesCount);
 
-        final ZipfianGenerator generator = new ZipfianGenerator(profilesCount);
-        final int numThreads = CommandLineUtils.numThreads(cmd);
+        final KeyDistribution keyDistribution = CommandLineUtils.createKeyDistribution(cmd, profilesCount);
+        System.out.printf("Profiles are chosen using %s distribution\n", CommandLineUtils.getKeyDistributionName(cmd));
+        final KeyTable keyTable = createKeyTable(cmd, (int) profilesCount);
+        final LookupMode lookupMode = CommandLineUtils.getLookupMode(cmd);
+        final ProfileLookup profileLookup = new ProfileLookup(lookupMode, keyTable, (int) profilesCount);
+        System.out.printf("Profiles are found using %s lookup\n", lookupMode.name().toLowerCase());
 
-        final int warmupOperations = CommandLineUtils.getWarmUpOperations(cmd, (int) profilesCount);
+        final ProfilesCounter profilesCounter = new ProfilesCounter(profilesCount, existingProfiles);
+        final int numThreads = CommandLineUtils.numThreads(cmd);
+        final List<SessionMode> sessionModes = CommandLineUtils.getSessionModes(cmd);
+        final RetryPolicy retryPolicy = CommandLineUtils.createRetryPolicy(cmd);
+        System.out.printf("Conflicting transactions are retried using %s policy\n", retryPolicy);
+        final PhaseProfiler profiler = CommandLineUtils.createPhaseProfiler(cmd);
+
+        final long warmUpDuration = CommandLineUtils.getWarmUpDuration(cmd);
+        final int warmupOperations;
+        if (warmUpDuration > 0 && !CommandLineUtils.isWarmUpOperationsSet(cmd)) {
+          warmupOperations = Integer.MAX_VALUE;
+        } else {
+          warmupOperations = CommandLineUtils.getWarmUpOperations(cmd, (int) profilesCount);
+        }
         final long warmUpIterationsPerThread = warmupOperations / numThreads;
 
         final ExecutorService executorService = Executors.newCachedThreadPool();
-        warmUp((int) profilesCount, orientDB, generator, numThreads, warmUpIterationsPerThread, executorService, dbName);
+        warmUp((int) profilesCount, orientDB, keyDistribution, keyTable, profileLookup, numThreads, warmUpIterationsPerThread,
+            warmUpDuration * NANOS_IN_SECONDS, CommandLineUtils.createSteadyStateDetector(cmd), executorService, dbName,
+            profilesCounter, sessionModes.get(0), retryPolicy);
 
         final String path = CommandLineUtils.path(cmd);
         final String csvSuffix = CommandLineUtils.getCsvSuffix(cmd);
 
-        final int operations = CommandLineUtils.getOperations(cmd, (int) profilesCount);
+        final long duration = CommandLineUtils.getDuration(cmd);
+        final int operations;
+        if (duration > 0) {
+          operations = getMaxOperations(cmd, (int) profilesCount);
+        } else {
+          operations = getOperations(cmd, (int) profilesCount);
+        }
         final long iterationsPerThread = operations / numThreads;
 
-        workload((int) profilesCount, orientDB, generator, numThreads, iterationsPerThread, executorService, dbName, path,
-            csvSuffix);
+        final long targetRate = CommandLineUtils.getTargetRate(cmd);
+        final ArrivalSchedule arrivalSchedule;
+        if (targetRate > 0) {
+          arrivalSchedule = new ArrivalSchedule(targetRate);
+        } else {
+          arrivalSchedule = null;
+        }
+
+        final List<Integer> threadSweep = CommandLineUtils.getThreadSweep(cmd);
+        final long sweepDuration = CommandLineUtils.getSweepDuration(cmd);
+
+        final ODocument settings = new ODocument();
+        settings.field("options", ResultDocuments.configuration(cmd));
+        settings.field("profiles", profilesCount);
+        settings.field("existingProfiles", existingProfiles);
+        settings.field("keyDistribution", CommandLineUtils.getKeyDistributionName(cmd));
+        settings.field("lookupMode", lookupMode.name().toLowerCase());
+        settings.field("retryPolicy", retryPolicy.toString());
+        settings.field("targetRate", targetRate);
+
+        final long[] throughputs = new long[sessionModes.size()];
+        for (int i = 0; i < sessionModes.size(); i++) {
+          final SessionMode sessionMode = sessionModes.get(i);
+          final String modeCsvSuffix;
+          if (sessionModes.size() > 1) {
+            modeCsvSuffix = csvSuffix + " " + sessionMode.name().toLowerCase();
+          } else {
+            modeCsvSuffix = csvSuffix;
+          }
+
+          if (threadSweep.isEmpty()) {
+            throughputs[i] = workload((int) profilesCount, orientDB, keyDistribution, keyTable, profileLookup, numThreads,
+                iterationsPerThread, duration * NANOS_IN_SECONDS, executorService, dbName, path, modeCsvSuffix, arrivalSchedule,
+                profilesCounter, sessionMode, retryPolicy, profiler, settings).getThroughput();
+          } else {
+            final List<WorkloadResult> results = new ArrayList<>();
+            for (int sweepThreads : threadSweep) {
+              results.add(workload((int) profilesCount, orientDB, keyDistribution, keyTable, profileLookup, sweepThreads,
+                  Integer.MAX_VALUE, sweepDuration * NANOS_IN_SECONDS, executorService, dbName, path,
+                  modeCsvSuffix + " " + sweepThreads + " threads", arrivalSchedule, profilesCounter, sessionMode, retryPolicy,
+                  profiler, settings));
+            }
+
+            printThreadSweepSummary(results, modeCsvSuffix);
+            throughputs[i] = results.get(results.size() - 1).getThroughput();
+          }
+        }
+
+        if (sessionModes.size() > 1) {
+          printSessionModesComparison(sessionModes, throughputs);
+        }
       }
     } catch (ParseException pe) {
       System.out.println(pe.getMessage());
     }
   }
 
-  public abstract PokecWorkloadTask createTask(int iterationsCount, ODatabasePool pool, ZipfianGenerator zipfianGenerator,
-      int itemsCount, AtomicInteger iterationsCounter);
+  /**
+   * Finds maximum user id of profiles which is equal to amount of indexes of profiles including indexes of profiles deleted by
+   * previous workloads. Tree based index provides the last key directly, otherwise all profiles are scanned.
+   */
+  private static long getMaxUserId(ODatabaseSession session) {
+    final OIndex<?> userIdIndex = session.getMetadata().getIndexManager().getIndex(PokecLoad.USER_ID_INDEX);
+    if (userIdIndex != null) {
+      try {
+        final Object lastKey = userIdIndex.getLastKey();
+        return lastKey == null ? 0 : ((Number) lastKey).longValue();
+      } catch (UnsupportedOperationException e) {
+        //hash index does not support ordered access
+      }
+    }
+
+    try (OResultSet resultSet = session.query("select max(user_id) as maxUserId from " + PokecLoad.PROFILE_CLASS)) {
+      if (!resultSet.hasNext()) {
+        return 0;
+      }
+
+      final Number maxUserId = resultSet.next().getProperty("maxUserId");
+      return maxUserId == null ? 0 : maxUserId.longValue();
+    }
+  }
+
+  private static KeyTable createKeyTable(CommandLine cmd, int profilesCount) {
+    if (!CommandLineUtils.isKeyTable(cmd)) {
+      return new KeyTable(0);
+    }
+
+    final long startTs = System.nanoTime();
+    final KeyTable keyTable = new KeyTable(profilesCount);
+    final long endTs = System.nanoTime();
+
+    System.out.printf("Keys of %d profiles were generated in %d ms\n", keyTable.size(), (endTs - startTs) / 1_000_000);
+    return keyTable;
+  }
+
+  /**
+   * Reads settings which are specific for the given workload, called before any of workload tasks are created.
+   */
+  protected void configure(CommandLine cmd) {
+  }
+
+  /**
+   * @return Amount of operations performed by measured phase of workload.
+   */
+  protected int getOperations(CommandLine cmd, int profilesCount) {
+    return CommandLineUtils.getOperations(cmd, profilesCount);
+  }
+
+  /**
+   * @return Maximum amount of operations performed by measured phase of workload if phase is limited by duration, amount of
+   * operations is not limited unless it is set explicitly.
+   */
+  protected int getMaxOperations(CommandLine cmd, int profilesCount) {
+    if (CommandLineUtils.isOperationsSet(cmd)) {
+      return getOperations(cmd, profilesCount);
+    }
+
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Prepares data which are specific for the given workload, called once database is opened and before any of workload tasks are
+   * created.
+   */
+  protected void prepare(CommandLine cmd, ODatabaseSession session, long profilesCount) {
+  }
+
+  public abstract PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context);
+
+  /**
+   * Creates task of adaptive warm up, by default it is the same task as the one of measured phase.
+   */
+  protected PokecWorkloadTask createWarmUpTask(int iterationsCount, WorkloadContext context) {
+    return createTask(iterationsCount, context);
+  }
+
+  private static void printSessionModesComparison(List<SessionMode> sessionModes, long[] throughputs) {
+    final long baseThroughput = throughputs[0];
+    for (int i = 1; i < sessionModes.size(); i++) {
+      System.out.printf("Throughput with %s sessions is %d op/s, with %s sessions is %d op/s, difference is %.1f%%\n",
+          sessionModes.get(i).name().toLowerCase(), throughputs[i], sessionModes.get(0).name().toLowerCase(), baseThroughput,
+          (throughputs[i] - baseThroughput) * 100.0 / baseThroughput);
+    }
+  }
+
+  /**
+   * Prints throughput, latency and retries of each amount of threads of the sweep and efficiency of scaling relatively to the
+   * first amount of threads, efficiency equals to 1 if throughput grows linearly with amount of threads. The same table is
+   * written into CSV report.
+   */
+  private void printThreadSweepSummary(List<WorkloadResult> results, String csvSuffix) throws IOException {
+    final WorkloadResult base = results.get(0);
 
-  private void workload(int profilesCount, OrientDB orientDB, ZipfianGenerator generator, int numThreads, long iterationsPerThread,
-      ExecutorService executorService, String dbName, String path, String csvSuffix) throws Exception {
+    final String workloadName = this.getClass().getSimpleName();
+    try (FileWriter csvWriter = new FileWriter(String.format("%s %tc%s sweep.csv", workloadName, new Date(), csvSuffix))) {
+      try (CSVPrinter csvPrinter = new CSVPrinter(csvWriter, CSVFormat.DEFAULT)) {
+        System.out.println("Scaling of workload:");
+        System.out.printf("%10s %15s %15s %12s %12s %12s\n", "threads", "throughput op/s", "p99 us", "retries", "failures",
+            "efficiency");
+
+        for (WorkloadResult result : results) {
+          final double efficiency =
+              (double) result.getThroughput() * base.getNumThreads() / ((double) base.getThroughput() * result.getNumThreads());
+
+          System.out.printf("%10d %15d %15d %12d %12d %12.2f\n", result.getNumThreads(), result.getThroughput(), result.getP99(),
+              result.getRetries(), result.getFailures(), efficiency);
+          csvPrinter.printRecord(result.getNumThreads(), result.getThroughput(), result.getP99(), result.getRetries(),
+              result.getFailures(), String.format("%.3f", efficiency));
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs measured phase of workload. Statistics of the phase are written into CSV report and together with settings of the phase
+   * and environment of benchmark into JSON result which has the same name as CSV report.
+   *
+   * @param duration Maximum duration of the phase in nanoseconds or 0 if phase is completed once all iterations are done.
+   * @param settings Settings of workload which are shared by all runs of measured phase.
+   * @return Throughput, latency and retries of the phase.
+   */
+  private WorkloadResult workload(int profilesCount, OrientDB orientDB, KeyDistribution keyDistribution, KeyTable keyTable,
+      ProfileLookup profileLookup, int numThreads, long iterationsPerThread, long duration, ExecutorService executorService,
+      String dbName, String path, String csvSuffix, ArrivalSchedule arrivalSchedule, ProfilesCounter profilesCounter,
+      SessionMode sessionMode, RetryPolicy retryPolicy, PhaseProfiler profiler, ODocument settings) throws Exception {
     List<Future<Integer>> futures = new ArrayList<>();
 
     final String workloadName = this.getClass().getSimpleName();
-    try (FileWriter csvWriter = new FileWriter(String.format("%s %tc%s.csv", workloadName, new Date(), csvSuffix))) {
+    final Date startDate = new Date();
+    final String reportName = String.format("%s %tc%s", workloadName, startDate, csvSuffix);
+    try (FileWriter csvWriter = new FileWriter(reportName + ".csv")) {
       try (CSVPrinter csvPrinter = new CSVPrinter(csvWriter, CSVFormat.DEFAULT)) {
         try (ODatabasePool pool = new ODatabasePool(orientDB, dbName, "admin", "admin")) {
-          System.out
-              .printf("Starting of workload with %d threads, %d operations for each thread\n", numThreads, iterationsPerThread);
-          final AtomicInteger iterationsCounter = new AtomicInteger();
+          if (duration > 0) {
+            System.out.printf("Starting of workload with %d threads for %d s, %s sessions\n", numThreads,
+                duration / NANOS_IN_SECONDS, sessionMode.name().toLowerCase());
+          } else {
+            System.out
+                .printf("Starting of workload with %d threads, %d operations for each thread, %s sessions\n", numThreads,
+                    iterationsPerThread, sessionMode.name().toLowerCase());
+          }
+          if (arrivalSchedule != null) {
+            System.out.printf("Operations are issued with fixed rate %d op/s, latency is measured from intended start time of "
+                + "operation\n", arrivalSchedule.getTargetRate());
+          }
 
-          Timer statusTimer = new Timer();
-          statusTimer.scheduleAtFixedRate(new TimerTask() {
-            private long ts = -1;
-            private long iterationsCount;
-
-            @Override
-            public void run() {
-              if (ts == -1) {
-                ts = System.nanoTime();
-                iterationsCount = iterationsCounter.get();
-              } else {
-                long currentTs = System.nanoTime();
-                long currentIterations = iterationsCounter.get();
-
-                long timePassed = currentTs - ts;
-                long iterationsPassed = currentIterations - iterationsCount;
-
-                ts = currentTs;
-                iterationsCount = currentIterations;
-
-                if (iterationsPassed == 0) {
-                  return;
-                }
-
-                final long timePerIteration = timePassed / iterationsPassed;
-                final long timePerIterationInMks = timePerIteration / 1000;
-                final long iterationsPerSecond = 1_000_000_000 / timePerIteration;
-
-                System.out.printf("%d operations out of %d are passed, avg. operation time is %d us, throughput %d op/s\n",
-                    currentIterations, numThreads * iterationsPerThread, timePerIterationInMks, iterationsPerSecond);
-                try {
-                  csvPrinter.printRecord(currentIterations, timePerIterationInMks, iterationsPerSecond);
-                } catch (IOException e) {
-                  final StringWriter stringWriter = new StringWriter();
-                  final PrintWriter printWriter = new PrintWriter(stringWriter);
-
-                  printWriter.println("Can not write workload data into csv file");
-                  e.printStackTrace(printWriter);
-
-                  printWriter.flush();
-
-                  System.err.println(stringWriter.toString());
-                }
-              }
-            }
-          }, 10, 10 * 1000);
+          final AtomicLong iterationsCounter = new AtomicLong();
+          final WorkloadContext context = new WorkloadContext(pool, keyDistribution, keyTable, profileLookup, profilesCount,
+              iterationsCounter, arrivalSchedule, profilesCounter, sessionMode, retryPolicy, duration);
 
-          final long workloadStartTs = System.nanoTime();
+          final List<PokecWorkloadTask> tasks = new ArrayList<>();
           for (int i = 0; i < numThreads; i++) {
-            futures.add(
-                executorService.submit(createTask((int) iterationsPerThread, pool, generator, profilesCount, iterationsCounter)));
+            tasks.add(createTask((int) iterationsPerThread, context));
+          }
+
+          final WorkloadStatusReporter statusReporter = new WorkloadStatusReporter(tasks, iterationsCounter,
+              duration > 0 ? 0 : numThreads * iterationsPerThread, csvPrinter, profilesCounter);
+          Timer statusTimer = new Timer();
+          statusTimer.scheduleAtFixedRate(statusReporter, 10, 10 * 1000);
+
+          if (arrivalSchedule != null) {
+            arrivalSchedule.start();
           }
 
-          for (Future<Integer> future : futures) {
-            future.get();
+          profiler.start(reportName);
+
+          final long workloadStartTs = System.nanoTime();
+          final long workloadEndTs;
+          long retries = 0;
+          try {
+            for (PokecWorkloadTask task : tasks) {
+              futures.add(executorService.submit(task));
+            }
+
+            for (Future<Integer> future : futures) {
+              retries += future.get();
+            }
+            workloadEndTs = System.nanoTime();
+          } finally {
+            profiler.stop();
           }
-          final long workloadEndTs = System.nanoTime();
+
           final long worloadInterval = workloadEndTs - workloadStartTs;
 
           final long hours = worloadInterval / NANOS_IN_HOURS;
           final long minutes = (worloadInterval - hours * NANOS_IN_HOURS) / NANOS_IN_MINUTES;
           final long seconds = (worloadInterval - hours * NANOS_IN_HOURS - minutes * NANOS_IN_MINUTES) / NANOS_IN_SECONDS;
 
-          final long timePerIteration = worloadInterval / (numThreads * iterationsPerThread);
+          final long timePerIteration = worloadInterval / Math.max(iterationsCounter.get(), 1);
           final long timePerIterationInMks = timePerIteration / 1000;
           final long iterationsPerSecond = 1_000_000_000 / timePerIteration;
 
           statusTimer.cancel();
+          final Histogram latencies = statusReporter.complete();
 
-          csvPrinter.printRecord(numThreads * iterationsPerSecond, timePerIterationInMks, iterationsPerSecond);
+          final long p50 = LatencyHistograms.percentileInMks(latencies, 50);
+          final long p90 = LatencyHistograms.percentileInMks(latencies, 90);
+          final long p99 = LatencyHistograms.percentileInMks(latencies, 99);
+          final long p999 = LatencyHistograms.percentileInMks(latencies, 99.9);
+          final long max = LatencyHistograms.maxInMks(latencies);
 
           System.out.printf("Workload is completed for %s in %d h. %d min. %d s. avg. operation time is %d us, throughput %d op/s, "
-              + "number of threads %d\n", path, hours, minutes, seconds, timePerIterationInMks, iterationsPerSecond, numThreads);
+                  + "number of threads %d\n", path, hours, minutes, seconds, timePerIterationInMks, iterationsPerSecond,
+              numThreads);
+          System.out.printf("Latency p50 %d us, p90 %d us, p99 %d us, p99.9 %d us, max %d us\n", p50, p90, p99, p999, max);
+          System.out.printf("%d retries were done, %d operations were given up by retry policy\n", retries,
+              statusReporter.getFailures());
+
+          final List<Object> record = new ArrayList<>();
+          record.add(iterationsCounter.get());
+          record.add(timePerIterationInMks);
+          record.add(iterationsPerSecond);
+          record.add(p50);
+          record.add(p90);
+          record.add(p99);
+          record.add(p999);
+          record.add(max);
+
+          final ODocument total = new ODocument();
+          total.field("operations", iterationsCounter.get());
+          total.field("duration", worloadInterval / 1_000_000);
+          total.field("avgOperationTime", timePerIterationInMks);
+          total.field("throughput", iterationsPerSecond);
+          WorkloadStatusReporter.addLatencies(total, p50, p90, p99, p999, max);
+
+          statusReporter.addTotalOperationStatistics(record, total, worloadInterval);
+          statusReporter.printPopularityStatistics();
+
+          csvPrinter.printRecord(record);
+
+          final ODocument runSettings = settings.copy();
+          runSettings.field("numThreads", numThreads);
+          runSettings.field("sessionMode", sessionMode.name().toLowerCase());
+          runSettings.field("operationsPerThread", duration > 0 ? 0 : iterationsPerThread);
+          runSettings.field("duration", duration / NANOS_IN_SECONDS);
+
+          final ODocument result = new ODocument();
+          result.field("workload", workloadName);
+          result.field("report", reportName);
+          result.field("startTime", startDate.toInstant().toString());
+          result.field("settings", runSettings);
+          result.field("environment", ResultDocuments.environment());
+          result.field("intervals", statusReporter.getIntervals());
+          result.field("total", total);
+          ResultDocuments.write(result, reportName + ".json");
+
+          return new WorkloadResult(numThreads, iterationsPerSecond, p99, retries, statusReporter.getFailures());
         }
       }
     }
   }
 
-  private void warmUp(int profilesCount, OrientDB orientDB, ZipfianGenerator generator, int numThreads, long iterationsPerThread,
-      ExecutorService executorService, String dbName) throws InterruptedException, java.util.concurrent.ExecutionException {
+  /**
+   * Runs warm up of workload. Fixed warm up reads profiles, adaptive warm up runs tasks created by
+   * {@link #createWarmUpTask(int, WorkloadContext)} and stops once throughput becomes steady.
+   *
+   * @param duration            Maximum duration of warm up in nanoseconds or 0 if warm up is completed once all iterations are
+   *                            done.
+   * @param steadyStateDetector Detector of steady state of adaptive warm up or <code>null</code> if warm up is not adaptive.
+   */
+  private void warmUp(int profilesCount, OrientDB orientDB, KeyDistribution keyDistribution, KeyTable keyTable,
+      ProfileLookup profileLookup, int numThreads, long iterationsPerThread, long duration,
+      SteadyStateDetector steadyStateDetector, ExecutorService executorService, String dbName, ProfilesCounter profilesCounter,
+      SessionMode sessionMode, RetryPolicy retryPolicy) throws InterruptedException, ExecutionException {
     List<Future<Integer>> futures = new ArrayList<>();
 
     try (ODatabasePool pool = new ODatabasePool(orientDB, dbName, "admin", "admin")) {
-      System.out.printf("Starting of warm up with %d threads, %d operations for each thread\n", numThreads, iterationsPerThread);
-      final AtomicInteger iterationsCounter = new AtomicInteger();
-
-      Timer statusTimer = new Timer();
-      statusTimer.scheduleAtFixedRate(new TimerTask() {
-        private long ts = -1;
-        private long iterationsCount;
-
-        @Override
-        public void run() {
-          if (ts == -1) {
-            ts = System.nanoTime();
-            iterationsCount = iterationsCounter.get();
-          } else {
-            long currentTs = System.nanoTime();
-            long currentIterations = iterationsCounter.get();
-
-            long timePassed = currentTs - ts;
-            long iterationsPassed = currentIterations - iterationsCount;
-
-            ts = currentTs;
-            iterationsCount = currentIterations;
-
-            if (iterationsPassed == 0) {
-              return;
-            }
+      if (steadyStateDetector != null) {
+        System.out.printf("Starting of adaptive warm up with %d threads, warm up is completed once %s or in %d s\n", numThreads,
+            steadyStateDetector, duration / NANOS_IN_SECONDS);
+      } else if (duration > 0) {
+        System.out.printf("Starting of warm up with %d threads for %d s\n", numThreads, duration / NANOS_IN_SECONDS);
+      } else {
+        System.out
+            .printf("Starting of warm up with %d threads, %d operations for each thread\n", numThreads, iterationsPerThread);
+      }
 
-            final long timePerIteration = timePassed / iterationsPassed;
-            final long timePerIterationInMks = timePerIteration / 1000;
-            final long iterationsPerSecond = 1_000_000_000 / timePerIteration;
+      final AtomicLong iterationsCounter = new AtomicLong();
+      final WorkloadContext context = new WorkloadContext(pool, keyDistribution, keyTable, profileLookup, profilesCount,
+          iterationsCounter, null, profilesCounter, sessionMode, retryPolicy, duration);
 
-            System.out
-                .printf("%d operations out of %d are passed, avg. operation time is %d us, throughput %d op/s\n", currentIterations,
-                    numThreads * iterationsPerThread, timePerIterationInMks, iterationsPerSecond);
-          }
+      final List<PokecWorkloadTask> tasks = new ArrayList<>();
+      for (int i = 0; i < numThreads; i++) {
+        if (steadyStateDetector != null) {
+          tasks.add(createWarmUpTask((int) iterationsPerThread, context));
+        } else {
+          tasks.add(new PokecReader((int) iterationsPerThread, context));
         }
-      }, 10, 10 * 1000);
+      }
+
+      final WorkloadStatusReporter statusReporter = new WorkloadStatusReporter(tasks, iterationsCounter,
+          duration > 0 ? 0 : numThreads * iterationsPerThread, null, profilesCounter);
+      Timer statusTimer = new Timer();
+      statusTimer.scheduleAtFixedRate(statusReporter, 10, 10 * 1000);
 
       final long warmUpStartTs = System.nanoTime();
-      for (int i = 0; i < numThreads; i++) {
-        futures.add(
-            executorService.submit(new PokecReader((int) iterationsPerThread, pool, generator, profilesCount, iterationsCounter)));
+      for (PokecWorkloadTask task : tasks) {
+        futures.add(executorService.submit(task));
+      }
+
+      if (steadyStateDetector != null) {
+        awaitSteadyState(futures, iterationsCounter, context, steadyStateDetector);
       }
 
       for (Future<Integer> future : futures) {
@@ -225,14 +487,51 @@ public abstract class PokecWorkload {
       final long minutes = (warmUpInterval - hours * NANOS_IN_HOURS) / NANOS_IN_MINUTES;
       final long seconds = (warmUpInterval - hours * NANOS_IN_HOURS - minutes * NANOS_IN_MINUTES) / NANOS_IN_SECONDS;
 
-      final long timePerIteration = warmUpInterval / (numThreads * iterationsPerThread);
+      final long timePerIteration = warmUpInterval / Math.max(iterationsCounter.get(), 1);
       final long timePerIterationInMks = timePerIteration / 1000;
       final long iterationsPerSecond = 1_000_000_000 / timePerIteration;
 
       statusTimer.cancel();
+      final Histogram latencies = statusReporter.complete();
+
+      System.out.printf("Warm up is completed for %d h. %d min. %d s. avg. operation time is %d us, throughput %d op/s, "
+              + "latency p50 %d us, p99 %d us, max %d us \n", hours, minutes, seconds, timePerIterationInMks, iterationsPerSecond,
+          LatencyHistograms.percentileInMks(latencies, 50), LatencyHistograms.percentileInMks(latencies, 99),
+          LatencyHistograms.maxInMks(latencies));
+    }
+  }
 
-      System.out.printf("Warm up is completed for %d h. %d min. %d s. avg. operation time is %d us, throughput %d op/s \n", hours,
-          minutes, seconds, timePerIterationInMks, iterationsPerSecond);
+  /**
+   * Measures throughput of warm up at intervals of {@link SteadyStateDetector} and stops tasks of warm up once throughput becomes
+   * steady. Returns without stopping of tasks if all of them are completed before steady state is reached.
+   */
+  private static void awaitSteadyState(List<Future<Integer>> futures, AtomicLong iterationsCounter, WorkloadContext context,
+      SteadyStateDetector steadyStateDetector) throws InterruptedException, ExecutionException {
+    long ts = System.nanoTime();
+    long iterations = iterationsCounter.get();
+
+    for (Future<Integer> future : futures) {
+      while (true) {
+        try {
+          future.get(steadyStateDetector.getInterval(), TimeUnit.MILLISECONDS);
+          break;
+        } catch (TimeoutException e) {
+          final long currentTs = System.nanoTime();
+          final long currentIterations = iterationsCounter.get();
+
+          final long throughput = (currentIterations - iterations) * NANOS_IN_SECONDS / (currentTs - ts);
+          ts = currentTs;
+          iterations = currentIterations;
+
+          if (steadyStateDetector.addInterval(throughput)) {
+            System.out.printf("Steady state is reached with throughput %d op/s, warm up is stopped\n", throughput);
+            context.stop();
+            return;
+          }
+        }
+      }
     }
+
+    System.out.println("Steady state is not reached during warm up");
   }
 }
@@ -4,70 +4,316 @@ import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.record.OVertex;
-import com.orientechnologies.orient.core.sql.executor.OResult;
-import com.orientechnologies.orient.core.sql.executor.OResultSet;
-import com.orientechnologies.pokec.common.KeyGenerator;
-import com.orientechnologies.pokec.common.ZipfianGenerator;
+import com.orientechnologies.pokec.common.ArrivalSchedule;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import com.orientechnologies.pokec.common.KeyTable;
+import com.orientechnologies.pokec.common.LatencyHistograms;
+import com.orientechnologies.pokec.common.RetryPolicy;
+import com.orientechnologies.pokec.common.SessionMode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
 
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class PokecWorkloadTask implements Callable<Integer> {
-  private final int              iterationsCount;
-  private final ODatabasePool    pool;
-  private final ZipfianGenerator zipfianGenerator;
-  private final int              itemsCount;
-  private final AtomicInteger    iterationsCounter;
-
-  public PokecWorkloadTask(int iterationsCount, ODatabasePool pool, ZipfianGenerator zipfianGenerator, int itemsCount,
-      AtomicInteger iterationsCounter) {
+  private static final String[] SINGLE_OPERATION = { "operation" };
+
+  private static final int MAX_LOOKUP_ATTEMPTS = 1_000;
+
+  /**
+   * Amount of buckets of popularity of profiles, bucket is decimal order of magnitude of index of profile.
+   */
+  static final int POPULARITY_BUCKETS = 19;
+
+  private final int             iterationsCount;
+  private final ODatabasePool   pool;
+  private final KeyDistribution keyDistribution;
+  private final KeyTable        keyTable;
+  private final ProfileLookup   profileLookup;
+  private final int             itemsCount;
+  private final AtomicLong      iterationsCounter;
+  private final ArrivalSchedule arrivalSchedule;
+  private final ProfilesCounter profilesCounter;
+  private final SessionMode     sessionMode;
+  private final RetryPolicy     retryPolicy;
+  private final long            duration;
+  private final AtomicBoolean   stopFlag;
+
+  private final String[]               operationNames;
+  private final SingleWriterRecorder[] latencyRecorders;
+  private final SingleWriterRecorder   lookupRecorder = LatencyHistograms.newRecorder();
+  private final SingleWriterRecorder   retryRecorder  = LatencyHistograms.newRecorder();
+
+  private final AtomicLong retries  = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+
+  private final long[] bucketOperations = new long[POPULARITY_BUCKETS];
+  private final long[] bucketRetries    = new long[POPULARITY_BUCKETS];
+
+  private long lookedUpItem;
+
+  public PokecWorkloadTask(int iterationsCount, WorkloadContext context) {
+    this(iterationsCount, context, SINGLE_OPERATION);
+  }
+
+  /**
+   * @param operationNames Names of types of operations performed by the task, latency of each type of operation is tracked
+   *                       separately. Index of type of operation is returned by {@link #executeIteration(ODatabaseSession, Random)}.
+   */
+  protected PokecWorkloadTask(int iterationsCount, WorkloadContext context, String[] operationNames) {
     this.iterationsCount = iterationsCount;
-    this.pool = pool;
-    this.zipfianGenerator = zipfianGenerator;
-    this.itemsCount = itemsCount;
-    this.iterationsCounter = iterationsCounter;
+    this.operationNames = operationNames;
+    this.latencyRecorders = new SingleWriterRecorder[operationNames.length];
+    for (int i = 0; i < latencyRecorders.length; i++) {
+      latencyRecorders[i] = LatencyHistograms.newRecorder();
+    }
+
+    this.pool = context.getPool();
+    this.keyDistribution = context.getKeyDistribution();
+    this.keyTable = context.getKeyTable();
+    this.profileLookup = context.getProfileLookup();
+    this.itemsCount = context.getItemsCount();
+    this.iterationsCounter = context.getIterationsCounter();
+    this.arrivalSchedule = context.getArrivalSchedule();
+    this.profilesCounter = context.getProfilesCounter();
+    this.sessionMode = context.getSessionMode();
+    this.retryPolicy = context.getRetryPolicy();
+    this.duration = context.getDuration();
+    this.stopFlag = context.getStopFlag();
   }
 
   @Override
   public Integer call() {
-    final ThreadLocalRandom random = ThreadLocalRandom.current();
-    int retries = 0;
-
     try {
-      for (int i = 0; i < iterationsCount; i++) {
+      if (sessionMode == SessionMode.PINNED) {
         try (ODatabaseSession session = pool.acquire()) {
-          final String key = KeyGenerator.generateKey(zipfianGenerator, itemsCount);
-
-          final OVertex vertex;
-          try (OResultSet resultSet = session.query("select from Profile where key = ?", key)) {
-            final OResult result = resultSet.next();
-            vertex = result.getVertex().orElseThrow(IllegalStateException::new);
-          }
-
-          while (true) {
-            session.begin();
-            try {
-              execute(session, vertex, zipfianGenerator, itemsCount, random);
-              session.commit();
-              break;
-            } catch (ONeedRetryException e) {
-              retries++;
-            }
-          }
-
-          iterationsCounter.incrementAndGet();
+          executeIterations(session);
         }
+      } else {
+        executeIterations(null);
       }
     } catch (Exception e) {
       e.printStackTrace();
       throw e;
     }
 
-    return retries;
+    return (int) retries.get();
+  }
+
+  /**
+   * @param pinnedSession Session which is used by all iterations or <code>null</code> if session is acquired from the pool for
+   *                      each iteration.
+   */
+  private void executeIterations(ODatabaseSession pinnedSession) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final long stopTs = System.nanoTime() + duration;
+
+    for (int i = 0; i < iterationsCount; i++) {
+      if (stopFlag.get() || (duration > 0 && System.nanoTime() - stopTs >= 0)) {
+        break;
+      }
+
+      final long operationStartTs;
+      if (arrivalSchedule != null) {
+        operationStartTs = arrivalSchedule.awaitNextArrival();
+      } else {
+        operationStartTs = System.nanoTime();
+      }
+
+      lookedUpItem = -1;
+
+      final int operation;
+      if (pinnedSession != null) {
+        operation = executeIteration(pinnedSession, random);
+      } else {
+        try (ODatabaseSession session = pool.acquire()) {
+          operation = executeIteration(session, random);
+        }
+      }
+
+      LatencyHistograms.record(latencyRecorders[operation], System.nanoTime() - operationStartTs);
+      iterationsCounter.incrementAndGet();
+    }
+  }
+
+  /**
+   * Executes single iteration of workload. By default profile is chosen using {@link KeyDistribution} of workload and
+   * {@link #execute(ODatabaseSession, OVertex, KeyDistribution, int, Random)} is called for it inside of transaction.
+   *
+   * @return Index of type of operation which was performed.
+   */
+  protected int executeIteration(ODatabaseSession session, Random random) {
+    final OVertex vertex = loadRandomProfile(session);
+    executeInTransaction(session, vertex, random);
+    return 0;
+  }
+
+  /**
+   * Loads profile chosen by {@link KeyDistribution} of workload among all committed profiles including ones inserted by the
+   * workload itself. If chosen profile is deleted, other profile is chosen.
+   */
+  protected OVertex loadRandomProfile(ODatabaseSession session) {
+    return loadRandomProfile(session, keyDistribution);
+  }
+
+  /**
+   * Loads profile chosen by passed in distribution among all committed profiles including ones inserted by the workload itself.
+   * If chosen profile is deleted, other profile is chosen.
+   */
+  protected OVertex loadRandomProfile(ODatabaseSession session, KeyDistribution distribution) {
+    for (int i = 0; i < MAX_LOOKUP_ATTEMPTS; i++) {
+      final OVertex vertex = lookupProfile(session, distribution.nextItem(profilesCounter.getCommittedProfiles()));
+      if (vertex != null) {
+        return vertex;
+      }
+    }
+
+    throw new IllegalStateException("Existing profile is not found after " + MAX_LOOKUP_ATTEMPTS + " attempts");
+  }
+
+  /**
+   * @return Key of profile with given index.
+   */
+  protected String getKey(long item) {
+    return keyTable.getKey(item);
   }
 
-  public abstract void execute(ODatabaseSession session, OVertex vertex, ZipfianGenerator zipfianGenerator, int itemsCount,
-      Random random);
+  /**
+   * Finds profile using {@link ProfileLookup} of workload, time spent on lookup is tracked separately.
+   */
+  private OVertex lookupProfile(ODatabaseSession session, long item) {
+    lookedUpItem = item;
+
+    final long startTs = System.nanoTime();
+    final OVertex vertex = profileLookup.lookup(session, item);
+    LatencyHistograms.record(lookupRecorder, System.nanoTime() - startTs);
+
+    return vertex;
+  }
+
+  /**
+   * Calls {@link #execute(ODatabaseSession, OVertex, KeyDistribution, int, Random)} inside of transaction, transactions which
+   * failed because of concurrent modification of records are repeated according to {@link RetryPolicy} of workload. Time spent
+   * on failed attempts and delays between them is tracked separately, retries are accounted by popularity of the profile which
+   * was looked up by the current iteration.
+   *
+   * @return <code>false</code> if operation was given up by {@link RetryPolicy}.
+   */
+  protected boolean executeInTransaction(ODatabaseSession session, OVertex vertex, Random random) {
+    final long startTs = System.nanoTime();
+    int failedAttempts = 0;
+
+    while (true) {
+      session.begin();
+      try {
+        execute(session, vertex, keyDistribution, itemsCount, random);
+        session.commit();
+
+        completeTransaction(startTs, failedAttempts);
+        return true;
+      } catch (ONeedRetryException e) {
+        failedAttempts++;
+        retries.incrementAndGet();
+
+        if (!retryPolicy.retry(failedAttempts)) {
+          failures.incrementAndGet();
+
+          completeTransaction(startTs, failedAttempts);
+          return false;
+        }
+      }
+    }
+  }
+
+  private void completeTransaction(long startTs, int failedAttempts) {
+    if (failedAttempts > 0) {
+      LatencyHistograms.record(retryRecorder, System.nanoTime() - startTs);
+    }
+
+    if (lookedUpItem >= 0) {
+      final int bucket = popularityBucket(lookedUpItem);
+      bucketOperations[bucket]++;
+      bucketRetries[bucket] += failedAttempts;
+    }
+  }
+
+  /**
+   * @return Decimal order of magnitude of index of profile, for Zipfian and hotspot distributions the first profiles are the most
+   * popular ones.
+   */
+  static int popularityBucket(long item) {
+    int bucket = 0;
+    long bound = 10;
+    while (item >= bound && bucket < POPULARITY_BUCKETS - 1) {
+      bucket++;
+      bound *= 10;
+    }
+
+    return bucket;
+  }
+
+  String[] getOperationNames() {
+    return operationNames;
+  }
+
+  /**
+   * Moves latencies of operations of given type recorded since the previous call into the passed in histogram. Content of the
+   * histogram is replaced.
+   */
+  void getIntervalLatencies(int operation, Histogram histogram) {
+    latencyRecorders[operation].getIntervalHistogramInto(histogram);
+  }
+
+  /**
+   * Moves latencies of lookups of profiles recorded since the previous call into the passed in histogram. Content of the
+   * histogram is replaced.
+   */
+  void getIntervalLookupLatencies(Histogram histogram) {
+    lookupRecorder.getIntervalHistogramInto(histogram);
+  }
+
+  /**
+   * Moves latencies of operations which were retried at least once recorded since the previous call into the passed in
+   * histogram, latency includes only time spent on failed attempts and delays between them. Content of the histogram is replaced.
+   */
+  void getIntervalRetryLatencies(Histogram histogram) {
+    retryRecorder.getIntervalHistogramInto(histogram);
+  }
+
+  /**
+   * @return Amount of transactions which failed because of concurrent modification of records.
+   */
+  long getRetries() {
+    return retries.get();
+  }
+
+  /**
+   * @return Amount of operations which were given up by {@link RetryPolicy}.
+   */
+  long getFailures() {
+    return failures.get();
+  }
+
+  /**
+   * Adds amount of operations and retries in each bucket of popularity of profiles to passed in arrays, should be called once task
+   * is completed.
+   */
+  void addPopularityStatistics(long[] operations, long[] retries) {
+    for (int i = 0; i < POPULARITY_BUCKETS; i++) {
+      operations[i] += bucketOperations[i];
+      retries[i] += bucketRetries[i];
+    }
+  }
+
+  /**
+   * Performs operation on the given profile inside of transaction started by
+   * {@link #executeInTransaction(ODatabaseSession, OVertex, Random)}. Does nothing by default, tasks which override
+   * {@link #executeIteration(ODatabaseSession, Random)} without use of transactions do not need to implement it.
+   */
+  public void execute(ODatabaseSession session, OVertex vertex, KeyDistribution keyDistribution, int itemsCount, Random random) {
+  }
 }
@@ -0,0 +1,131 @@
+package com.orientechnologies.pokec;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.index.OIndex;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.record.OVertex;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.pokec.common.KeyTable;
+import com.orientechnologies.pokec.common.LookupMode;
+import com.orientechnologies.pokec.load.PokecLoad;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Finds profile by its index using one of {@link LookupMode}s. Instance is shared between all workload tasks and between warm up
+ * and measured phase of workload, so RIDs cached during warm up are used by measured phase.
+ * <p>
+ * RIDs are cached only for profiles which existed at the start of workload. Cache keeps cluster id and cluster position of each
+ * RID packed into single long value, 0 means that RID is not cached yet, cluster 0 never contains profiles.
+ */
+public final class ProfileLookup {
+  private static final String PROFILE_BY_KEY_QUERY = "select from " + PokecLoad.PROFILE_CLASS + " where key = ?";
+
+  private static final int  CLUSTER_POSITION_BITS = 48;
+  private static final long CLUSTER_POSITION_MASK = (1L << CLUSTER_POSITION_BITS) - 1;
+
+  private final LookupMode      lookupMode;
+  private final KeyTable        keyTable;
+  private final AtomicLongArray ridCache;
+
+  /**
+   * @param itemsCount Amount of profiles in database at the start of workload.
+   */
+  public ProfileLookup(LookupMode lookupMode, KeyTable keyTable, int itemsCount) {
+    this.lookupMode = lookupMode;
+    this.keyTable = keyTable;
+
+    if (lookupMode == LookupMode.RID) {
+      this.ridCache = new AtomicLongArray(itemsCount);
+    } else {
+      this.ridCache = null;
+    }
+  }
+
+  public LookupMode getLookupMode() {
+    return lookupMode;
+  }
+
+  /**
+   * @return Profile with given index or <code>null</code> if such profile does not exist.
+   */
+  public OVertex lookup(ODatabaseSession session, long item) {
+    switch (lookupMode) {
+    case SQL:
+      return sqlLookup(session, item);
+    case INDEX:
+      return indexLookup(session, item);
+    case RID:
+      return ridLookup(session, item);
+    default:
+      throw new IllegalStateException("Invalid lookup mode " + lookupMode);
+    }
+  }
+
+  private OVertex sqlLookup(ODatabaseSession session, long item) {
+    try (OResultSet resultSet = session.query(PROFILE_BY_KEY_QUERY, keyTable.getKey(item))) {
+      if (resultSet.hasNext()) {
+        return resultSet.next().getVertex().orElseThrow(IllegalStateException::new);
+      }
+
+      return null;
+    }
+  }
+
+  private OVertex indexLookup(ODatabaseSession session, long item) {
+    final ORID rid = findRid(session, item);
+    if (rid == null) {
+      return null;
+    }
+
+    return load(session, rid);
+  }
+
+  private OVertex ridLookup(ODatabaseSession session, long item) {
+    if (item >= ridCache.length()) {
+      return indexLookup(session, item);
+    }
+
+    final int index = (int) item;
+    final long packedRid = ridCache.get(index);
+    if (packedRid != 0) {
+      final OVertex vertex = load(session,
+          new ORecordId((int) (packedRid >>> CLUSTER_POSITION_BITS), packedRid & CLUSTER_POSITION_MASK));
+      if (vertex != null) {
+        return vertex;
+      }
+
+      ridCache.compareAndSet(index, packedRid, 0);
+    }
+
+    final ORID rid = findRid(session, item);
+    if (rid == null) {
+      return null;
+    }
+
+    ridCache.lazySet(index, ((long) rid.getClusterId() << CLUSTER_POSITION_BITS) | rid.getClusterPosition());
+    return load(session, rid);
+  }
+
+  private ORID findRid(ODatabaseSession session, long item) {
+    final OIndex<?> index = session.getMetadata().getIndexManager().getIndex(PokecLoad.KEY_INDEX);
+    final OIdentifiable identifiable = (OIdentifiable) index.get(keyTable.getKey(item));
+    if (identifiable == null) {
+      return null;
+    }
+
+    return identifiable.getIdentity();
+  }
+
+  private static OVertex load(ODatabaseSession session, ORID rid) {
+    final OElement element = session.load(rid);
+    if (element == null) {
+      return null;
+    }
+
+    return element.asVertex().orElseThrow(IllegalStateException::new);
+  }
+}
@@ -0,0 +1,92 @@
+package com.orientechnologies.pokec;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks profiles which are inserted and deleted by workloads. It is shared between all phases of workload.
+ * <p>
+ * Each inserted profile gets the next index after the last profile ever inserted, so indexes of profiles deleted by previous runs
+ * of workloads are not reused. Inserts are committed by several threads in
+ * arbitrary order, so counter keeps amount of the first indexes of profiles which are all committed, only those profiles are chosen
+ * by {@link com.orientechnologies.pokec.common.KeyDistribution}s. Deleted profiles keep their indexes, lookups of them are
+ * repeated with other profiles.
+ */
+public final class ProfilesCounter {
+  private final long       initialProfiles;
+  private final AtomicLong nextIndex;
+  private final AtomicLong profilesCount;
+
+  private final BitSet committedAhead = new BitSet();
+
+  private volatile long committedProfiles;
+
+  /**
+   * @param initialProfiles  Amount of indexes of profiles, including deleted ones, at the start of workload.
+   * @param existingProfiles Amount of profiles in database at the start of workload.
+   */
+  public ProfilesCounter(long initialProfiles, long existingProfiles) {
+    this.initialProfiles = initialProfiles;
+    this.profilesCount = new AtomicLong(existingProfiles);
+    this.nextIndex = new AtomicLong(initialProfiles);
+    this.committedProfiles = initialProfiles;
+  }
+
+  /**
+   * @return Index of the new profile, the same index should be used if transaction which inserts profile is retried.
+   */
+  public long nextIndex() {
+    return nextIndex.getAndIncrement();
+  }
+
+  /**
+   * Marks profile with given index as committed.
+   */
+  public void committed(long index) {
+    profilesCount.incrementAndGet();
+    completed(index);
+  }
+
+  /**
+   * Marks insert of profile with given index as given up, index is skipped by workloads in the same way as index of deleted
+   * profile.
+   */
+  public void failed(long index) {
+    completed(index);
+  }
+
+  private synchronized void completed(long index) {
+    final long committed = committedProfiles;
+    if (index < committed) {
+      return;
+    }
+
+    committedAhead.set((int) (index - initialProfiles));
+
+    long newCommitted = committed;
+    while (committedAhead.get((int) (newCommitted - initialProfiles))) {
+      committedAhead.clear((int) (newCommitted - initialProfiles));
+      newCommitted++;
+    }
+
+    committedProfiles = newCommitted;
+  }
+
+  public void deleted() {
+    profilesCount.decrementAndGet();
+  }
+
+  /**
+   * @return Amount of the first indexes of profiles, including indexes of deleted profiles, which are all committed.
+   */
+  public long getCommittedProfiles() {
+    return committedProfiles;
+  }
+
+  /**
+   * @return Amount of profiles which exist in database, profiles which are inserted but not committed yet are not counted.
+   */
+  public long getProfilesCount() {
+    return profilesCount.get();
+  }
+}
@@ -0,0 +1,115 @@
+package com.orientechnologies.pokec;
+
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.pokec.common.ArrivalSchedule;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import com.orientechnologies.pokec.common.KeyTable;
+import com.orientechnologies.pokec.common.RetryPolicy;
+import com.orientechnologies.pokec.common.SessionMode;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State which is shared between all tasks of single phase of workload, either warm up or measured one.
+ */
+public final class WorkloadContext {
+  private final ODatabasePool   pool;
+  private final KeyDistribution keyDistribution;
+  private final KeyTable        keyTable;
+  private final ProfileLookup   profileLookup;
+  private final int             itemsCount;
+  private final AtomicLong      iterationsCounter;
+  private final ArrivalSchedule arrivalSchedule;
+  private final ProfilesCounter profilesCounter;
+  private final SessionMode     sessionMode;
+  private final RetryPolicy     retryPolicy;
+  private final long            duration;
+  private final AtomicBoolean   stopFlag = new AtomicBoolean();
+
+  /**
+   * @param keyDistribution Distribution of profiles which are loaded by workload tasks.
+   * @param keyTable        Keys of profiles which are generated at the start of workload.
+   * @param profileLookup   Lookup of profiles by index which is shared between all phases of workload.
+   * @param arrivalSchedule Schedule of operations for open loop workload or <code>null</code> if every thread should start next
+   *                        operation as soon as previous one is completed.
+   * @param profilesCounter Counter of inserted and deleted profiles, it is shared between all phases of workload.
+   * @param sessionMode     Way in which tasks obtain sessions from the pool.
+   * @param retryPolicy     Policy of retries of transactions which failed because of concurrent modification of records.
+   * @param duration        Maximum duration of the phase in nanoseconds, each task stops once this time is passed since its start
+   *                        even if not all of its iterations are done, 0 if duration is not limited.
+   */
+  public WorkloadContext(ODatabasePool pool, KeyDistribution keyDistribution, KeyTable keyTable,
+      ProfileLookup profileLookup, int itemsCount, AtomicLong iterationsCounter, ArrivalSchedule arrivalSchedule,
+      ProfilesCounter profilesCounter, SessionMode sessionMode, RetryPolicy retryPolicy, long duration) {
+    this.pool = pool;
+    this.keyDistribution = keyDistribution;
+    this.keyTable = keyTable;
+    this.profileLookup = profileLookup;
+    this.itemsCount = itemsCount;
+    this.iterationsCounter = iterationsCounter;
+    this.arrivalSchedule = arrivalSchedule;
+    this.profilesCounter = profilesCounter;
+    this.sessionMode = sessionMode;
+    this.retryPolicy = retryPolicy;
+    this.duration = duration;
+  }
+
+  public ODatabasePool getPool() {
+    return pool;
+  }
+
+  public KeyDistribution getKeyDistribution() {
+    return keyDistribution;
+  }
+
+  public KeyTable getKeyTable() {
+    return keyTable;
+  }
+
+  public ProfileLookup getProfileLookup() {
+    return profileLookup;
+  }
+
+  public int getItemsCount() {
+    return itemsCount;
+  }
+
+  public AtomicLong getIterationsCounter() {
+    return iterationsCounter;
+  }
+
+  public ArrivalSchedule getArrivalSchedule() {
+    return arrivalSchedule;
+  }
+
+  public ProfilesCounter getProfilesCounter() {
+    return profilesCounter;
+  }
+
+  public SessionMode getSessionMode() {
+    return sessionMode;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  public long getDuration() {
+    return duration;
+  }
+
+  /**
+   * @return Flag which is set once all tasks of the phase should stop before their iterations or duration are exhausted.
+   */
+  public AtomicBoolean getStopFlag() {
+    return stopFlag;
+  }
+
+  /**
+   * Requests all tasks of the phase to stop after their current iteration.
+   */
+  public void stop() {
+    stopFlag.set(true);
+  }
+}
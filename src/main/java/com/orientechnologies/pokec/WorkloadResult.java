@@ -0,0 +1,44 @@
+package com.orientechnologies.pokec;
+
+/**
+ * Summary of single run of measured phase of workload which is used to compare runs with different settings.
+ */
+final class WorkloadResult {
+  private final int  numThreads;
+  private final long throughput;
+  private final long p99;
+  private final long retries;
+  private final long failures;
+
+  /**
+   * @param throughput Throughput of workload in operations per second.
+   * @param p99        99th percentile of latency of operations in microseconds.
+   */
+  WorkloadResult(int numThreads, long throughput, long p99, long retries, long failures) {
+    this.numThreads = numThreads;
+    this.throughput = throughput;
+    this.p99 = p99;
+    this.retries = retries;
+    this.failures = failures;
+  }
+
+  int getNumThreads() {
+    return numThreads;
+  }
+
+  long getThroughput() {
+    return throughput;
+  }
+
+  long getP99() {
+    return p99;
+  }
+
+  long getRetries() {
+    return retries;
+  }
+
+  long getFailures() {
+    return failures;
+  }
+}
@@ -0,0 +1,350 @@
+package com.orientechnologies.pokec;
+
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.pokec.common.JvmTelemetry;
+import com.orientechnologies.pokec.common.LatencyHistograms;
+import org.apache.commons.csv.CSVPrinter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically merges latency histograms of all workload tasks and prints statistics of the last interval to the console and
+ * optionally to the CSV file. If tasks perform several types of operations, throughput and latency of each type of operation are
+ * reported separately after statistics of all operations. Throughput and latency of lookups of profiles are reported next,
+ * latency of operations includes latency of lookups. Then throughput of operations which were retried at least once and latency
+ * spent on their failed attempts are reported followed by amount of retries and amount of operations given up by retry policy.
+ * Amount of profiles in database is reported next, so drift of throughput and latency can be correlated with growth or shrink
+ * of data set. State of JVM sampled by {@link JvmTelemetry} is reported at the end. Statistics of each interval except of state
+ * of JVM are also collected as documents which are written into JSON result of workload.
+ */
+final class WorkloadStatusReporter extends TimerTask {
+  private final List<? extends PokecWorkloadTask> tasks;
+  private final AtomicLong                        iterationsCounter;
+  private final long                              totalIterations;
+  private final CSVPrinter                        csvPrinter;
+  private final ProfilesCounter                   profilesCounter;
+
+  private final String[] operationNames;
+
+  private final List<ODocument> intervals = new ArrayList<>();
+
+  private final JvmTelemetry jvmTelemetry = new JvmTelemetry();
+
+  private final Histogram   taskHistogram      = LatencyHistograms.newHistogram();
+  private final Histogram   intervalHistogram  = LatencyHistograms.newHistogram();
+  private final Histogram   totalHistogram     = LatencyHistograms.newHistogram();
+  private final Histogram   intervalLookups    = LatencyHistograms.newHistogram();
+  private final Histogram   totalLookups       = LatencyHistograms.newHistogram();
+  private final Histogram   intervalRetries    = LatencyHistograms.newHistogram();
+  private final Histogram   totalRetries       = LatencyHistograms.newHistogram();
+  private final Histogram[] intervalHistograms;
+  private final Histogram[] totalHistograms;
+
+  private long startTs = -1;
+  private long ts      = -1;
+  private long iterationsCount;
+  private long retriesCount;
+  private long failuresCount;
+
+  /**
+   * @param totalIterations Amount of operations of the phase or 0 if phase is limited by duration.
+   */
+  WorkloadStatusReporter(List<? extends PokecWorkloadTask> tasks, AtomicLong iterationsCounter, long totalIterations,
+      CSVPrinter csvPrinter, ProfilesCounter profilesCounter) {
+    this.tasks = tasks;
+    this.iterationsCounter = iterationsCounter;
+    this.totalIterations = totalIterations;
+    this.csvPrinter = csvPrinter;
+    this.profilesCounter = profilesCounter;
+
+    this.operationNames = tasks.get(0).getOperationNames();
+    this.intervalHistograms = new Histogram[operationNames.length];
+    this.totalHistograms = new Histogram[operationNames.length];
+    for (int i = 0; i < operationNames.length; i++) {
+      intervalHistograms[i] = LatencyHistograms.newHistogram();
+      totalHistograms[i] = LatencyHistograms.newHistogram();
+    }
+  }
+
+  @Override
+  public synchronized void run() {
+    collectLatencies();
+
+    if (ts == -1) {
+      ts = System.nanoTime();
+      startTs = ts;
+      iterationsCount = iterationsCounter.get();
+      retriesCount = getRetries();
+      failuresCount = getFailures();
+      resetIntervalHistograms();
+      jvmTelemetry.start();
+    } else {
+      long currentTs = System.nanoTime();
+      long currentIterations = iterationsCounter.get();
+
+      long timePassed = currentTs - ts;
+      long iterationsPassed = currentIterations - iterationsCount;
+
+      ts = currentTs;
+      iterationsCount = currentIterations;
+
+      if (iterationsPassed == 0) {
+        return;
+      }
+
+      final long timePerIteration = timePassed / iterationsPassed;
+      final long timePerIterationInMks = timePerIteration / 1000;
+      final long iterationsPerSecond = 1_000_000_000 / timePerIteration;
+
+      final long p50 = LatencyHistograms.percentileInMks(intervalHistogram, 50);
+      final long p90 = LatencyHistograms.percentileInMks(intervalHistogram, 90);
+      final long p99 = LatencyHistograms.percentileInMks(intervalHistogram, 99);
+      final long p999 = LatencyHistograms.percentileInMks(intervalHistogram, 99.9);
+      final long max = LatencyHistograms.maxInMks(intervalHistogram);
+
+      final long currentRetries = getRetries();
+      final long currentFailures = getFailures();
+
+      final long retriesPassed = currentRetries - retriesCount;
+      final long failuresPassed = currentFailures - failuresCount;
+
+      retriesCount = currentRetries;
+      failuresCount = currentFailures;
+
+      final long profilesCount = profilesCounter.getProfilesCount();
+
+      final String progress;
+      if (totalIterations > 0) {
+        progress = String.format("%d operations out of %d are passed", currentIterations, totalIterations);
+      } else {
+        progress = String.format("%d operations are passed", currentIterations);
+      }
+
+      System.out.printf("%s, avg. operation time is %d us, throughput %d op/s, "
+              + "latency p50 %d us, p90 %d us, p99 %d us, p99.9 %d us, max %d us, %d retries, %d failures, %d profiles\n", progress,
+          timePerIterationInMks, iterationsPerSecond, p50, p90, p99, p999, max, retriesPassed, failuresPassed, profilesCount);
+
+      final List<Object> record = new ArrayList<>();
+      record.add(currentIterations);
+      record.add(timePerIterationInMks);
+      record.add(iterationsPerSecond);
+      record.add(p50);
+      record.add(p90);
+      record.add(p99);
+      record.add(p999);
+      record.add(max);
+
+      final ODocument interval = new ODocument();
+      interval.field("elapsed", (currentTs - startTs) / 1_000_000);
+      interval.field("operations", iterationsPassed);
+      interval.field("avgOperationTime", timePerIterationInMks);
+      interval.field("throughput", iterationsPerSecond);
+      addLatencies(interval, p50, p90, p99, p999, max);
+
+      final Map<String, ODocument> histograms = new LinkedHashMap<>();
+      addOperationStatistics(record, histograms, intervalHistograms, timePassed);
+      addStatistics(record, histograms, "lookup", intervalLookups, timePassed);
+      addStatistics(record, histograms, "retry", intervalRetries, timePassed);
+      record.add(retriesPassed);
+      record.add(failuresPassed);
+      record.add(profilesCount);
+      jvmTelemetry.addIntervalStatistics(record, timePassed);
+      resetIntervalHistograms();
+
+      interval.field("histograms", histograms);
+      interval.field("retries", retriesPassed);
+      interval.field("failures", failuresPassed);
+      interval.field("profiles", profilesCount);
+      intervals.add(interval);
+
+      if (csvPrinter != null) {
+        try {
+          csvPrinter.printRecord(record);
+        } catch (IOException e) {
+          final StringWriter stringWriter = new StringWriter();
+          final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+          printWriter.println("Can not write workload data into csv file");
+          e.printStackTrace(printWriter);
+
+          printWriter.flush();
+
+          System.err.println(stringWriter.toString());
+        }
+      }
+    }
+  }
+
+  /**
+   * Merges latencies which were not reported yet and returns histogram of latencies of all operations performed by tasks. Should be
+   * called once all tasks are completed and the timer is cancelled.
+   */
+  synchronized Histogram complete() {
+    collectLatencies();
+    return totalHistogram;
+  }
+
+  /**
+   * Adds throughput and latency of each type of operation performed during whole workload, if tasks perform several types of
+   * operations, throughput and latency of lookups of profiles and retried operations, amount of retries and failures, amount of
+   * profiles and state of JVM to the passed in CSV record and prints statistics of operations to the console. The same
+   * statistics except of state of JVM are added to the passed in document of totals of JSON result.
+   *
+   * @param timePassed Duration of workload in nanoseconds.
+   */
+  synchronized void addTotalOperationStatistics(List<Object> record, ODocument total, long timePassed) {
+    final Map<String, ODocument> histograms = new LinkedHashMap<>();
+    addOperationStatistics(record, histograms, totalHistograms, timePassed);
+    addStatistics(record, histograms, "lookup", totalLookups, timePassed);
+    addStatistics(record, histograms, "retry", totalRetries, timePassed);
+    record.add(getRetries());
+    record.add(getFailures());
+    record.add(profilesCounter.getProfilesCount());
+    jvmTelemetry.addTotalStatistics(record, timePassed);
+
+    total.field("histograms", histograms);
+    total.field("retries", getRetries());
+    total.field("failures", getFailures());
+    total.field("profiles", profilesCounter.getProfilesCount());
+  }
+
+  /**
+   * @return Statistics of all intervals reported so far in the order of reporting.
+   */
+  synchronized List<ODocument> getIntervals() {
+    return intervals;
+  }
+
+  /**
+   * Adds percentiles of latency in microseconds to the document of JSON result.
+   */
+  static void addLatencies(ODocument document, long p50, long p90, long p99, long p999, long max) {
+    document.field("p50", p50);
+    document.field("p90", p90);
+    document.field("p99", p99);
+    document.field("p999", p999);
+    document.field("max", max);
+  }
+
+  /**
+   * Prints amount of operations and retries for each bucket of popularity of profiles, so contention on the most popular profiles
+   * can be distinguished from contention spread over the whole data set. Should be called once all tasks are completed.
+   */
+  void printPopularityStatistics() {
+    final long[] operations = new long[PokecWorkloadTask.POPULARITY_BUCKETS];
+    final long[] retries = new long[PokecWorkloadTask.POPULARITY_BUCKETS];
+    for (PokecWorkloadTask task : tasks) {
+      task.addPopularityStatistics(operations, retries);
+    }
+
+    System.out.println("Retries by index of profile:");
+    long lowerBound = 0;
+    long upperBound = 10;
+    for (int i = 0; i < operations.length; i++) {
+      if (operations[i] > 0) {
+        System.out.printf("\tprofiles %d-%d : %d operations, %d retries, %.3f retries per operation\n", lowerBound,
+            upperBound - 1, operations[i], retries[i], (double) retries[i] / operations[i]);
+      }
+
+      lowerBound = upperBound;
+      upperBound *= 10;
+    }
+  }
+
+  private void addOperationStatistics(List<Object> record, Map<String, ODocument> summaries, Histogram[] histograms,
+      long timePassed) {
+    if (operationNames.length == 1) {
+      return;
+    }
+
+    for (int i = 0; i < operationNames.length; i++) {
+      addStatistics(record, summaries, operationNames[i], histograms[i], timePassed);
+    }
+  }
+
+  private static void addStatistics(List<Object> record, Map<String, ODocument> summaries, String name, Histogram histogram,
+      long timePassed) {
+    final long operationsPerSecond = histogram.getTotalCount() * 1_000_000_000 / timePassed;
+    final long p50 = LatencyHistograms.percentileInMks(histogram, 50);
+    final long p90 = LatencyHistograms.percentileInMks(histogram, 90);
+    final long p99 = LatencyHistograms.percentileInMks(histogram, 99);
+    final long p999 = LatencyHistograms.percentileInMks(histogram, 99.9);
+    final long max = LatencyHistograms.maxInMks(histogram);
+
+    System.out.printf("\t%s : %d operations, throughput %d op/s, latency p50 %d us, p90 %d us, p99 %d us, p99.9 %d us, max %d us\n",
+        name, histogram.getTotalCount(), operationsPerSecond, p50, p90, p99, p999, max);
+
+    record.add(operationsPerSecond);
+    record.add(p50);
+    record.add(p90);
+    record.add(p99);
+    record.add(p999);
+    record.add(max);
+
+    final ODocument summary = new ODocument();
+    summary.field("operations", histogram.getTotalCount());
+    summary.field("throughput", operationsPerSecond);
+    addLatencies(summary, p50, p90, p99, p999, max);
+    summaries.put(name, summary);
+  }
+
+  private void collectLatencies() {
+    for (PokecWorkloadTask task : tasks) {
+      for (int i = 0; i < operationNames.length; i++) {
+        task.getIntervalLatencies(i, taskHistogram);
+
+        intervalHistograms[i].add(taskHistogram);
+        totalHistograms[i].add(taskHistogram);
+        intervalHistogram.add(taskHistogram);
+        totalHistogram.add(taskHistogram);
+      }
+
+      task.getIntervalLookupLatencies(taskHistogram);
+      intervalLookups.add(taskHistogram);
+      totalLookups.add(taskHistogram);
+
+      task.getIntervalRetryLatencies(taskHistogram);
+      intervalRetries.add(taskHistogram);
+      totalRetries.add(taskHistogram);
+    }
+  }
+
+  private long getRetries() {
+    long retries = 0;
+    for (PokecWorkloadTask task : tasks) {
+      retries += task.getRetries();
+    }
+
+    return retries;
+  }
+
+  /**
+   * @return Amount of operations which were given up by retry policy by all tasks.
+   */
+  long getFailures() {
+    long failures = 0;
+    for (PokecWorkloadTask task : tasks) {
+      failures += task.getFailures();
+    }
+
+    return failures;
+  }
+
+  private void resetIntervalHistograms() {
+    intervalHistogram.reset();
+    intervalLookups.reset();
+    intervalRetries.reset();
+    for (Histogram histogram : intervalHistograms) {
+      histogram.reset();
+    }
+  }
+}
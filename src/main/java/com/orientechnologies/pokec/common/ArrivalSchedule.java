@@ -0,0 +1,66 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Schedule of arrivals of operations for open loop workloads. Operations are issued at the fixed rate which is shared between all
+ * worker threads, so every operation has intended start time which does not depend on completion of previous operations. Latency
+ * of operation is measured from its intended start time, so if the database is not able to keep up with the target rate, time
+ * which operation spent in the queue is included into latency and coordinated omission is avoided.
+ */
+public final class ArrivalSchedule {
+  private static final long SPIN_THRESHOLD = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final long       targetRate;
+  private final AtomicLong arrivalsCounter = new AtomicLong();
+
+  private volatile long startTs;
+
+  /**
+   * @param targetRate Amount of operations per second which should be issued by all worker threads together.
+   */
+  public ArrivalSchedule(long targetRate) {
+    if (targetRate <= 0) {
+      throw new IllegalArgumentException("Target rate should be positive but is " + targetRate);
+    }
+
+    this.targetRate = targetRate;
+  }
+
+  public long getTargetRate() {
+    return targetRate;
+  }
+
+  /**
+   * Starts schedule, should be called before worker threads are started.
+   */
+  public void start() {
+    arrivalsCounter.set(0);
+    startTs = System.nanoTime();
+  }
+
+  /**
+   * Reserves next arrival slot and waits till its start time.
+   *
+   * @return Intended start time of the operation in nanoseconds as it is returned by {@link System#nanoTime()}.
+   */
+  public long awaitNextArrival() {
+    final long arrival = arrivalsCounter.getAndIncrement();
+    final long intendedStartTs = startTs + arrival * 1_000_000_000L / targetRate;
+
+    long delay = intendedStartTs - System.nanoTime();
+    while (delay > 0) {
+      if (delay > SPIN_THRESHOLD) {
+        LockSupport.parkNanos(delay - SPIN_THRESHOLD);
+      } else {
+        Thread.yield();
+      }
+
+      delay = intendedStartTs - System.nanoTime();
+    }
+
+    return intendedStartTs;
+  }
+}
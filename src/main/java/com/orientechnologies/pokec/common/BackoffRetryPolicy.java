@@ -0,0 +1,45 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Retries failed transaction after exponentially growing delay. Delay is chosen uniformly between zero and current limit of delay
+ * ("full jitter"), so tasks which conflicted on the same profile do not retry at the same moment again.
+ */
+public final class BackoffRetryPolicy implements RetryPolicy {
+  private final long baseDelay;
+  private final long maxDelay;
+
+  /**
+   * @param baseDelay Limit of delay before the first retry in nanoseconds, it is doubled after each failed attempt.
+   * @param maxDelay  Maximum limit of delay in nanoseconds.
+   */
+  public BackoffRetryPolicy(long baseDelay, long maxDelay) {
+    if (baseDelay <= 0) {
+      throw new IllegalArgumentException("Base delay of retries should be positive but is " + baseDelay);
+    }
+
+    if (maxDelay < baseDelay) {
+      throw new IllegalArgumentException(
+          "Maximum delay of retries should not be less than base delay " + baseDelay + " but is " + maxDelay);
+    }
+
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+  }
+
+  @Override
+  public boolean retry(int failedAttempts) {
+    final int shift = Math.min(failedAttempts - 1, Long.numberOfLeadingZeros(baseDelay) - 1);
+    final long delayLimit = Math.min(maxDelay, baseDelay << shift);
+
+    LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(delayLimit + 1));
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("backoff (base delay %d us, max delay %d us)", baseDelay / 1000, maxDelay / 1000);
+  }
+}
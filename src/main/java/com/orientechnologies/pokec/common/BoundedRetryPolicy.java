@@ -0,0 +1,37 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Limits amount of attempts of single operation, operation is given up once limit is reached. Decision about delay between
+ * attempts is delegated to other policy.
+ */
+public final class BoundedRetryPolicy implements RetryPolicy {
+  private final int         maxAttempts;
+  private final RetryPolicy policy;
+
+  /**
+   * @param maxAttempts Maximum amount of attempts of single operation including the first one.
+   * @param policy      Policy which is applied to attempts inside of the limit.
+   */
+  public BoundedRetryPolicy(int maxAttempts, RetryPolicy policy) {
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException("Maximum amount of attempts should be positive but is " + maxAttempts);
+    }
+
+    this.maxAttempts = maxAttempts;
+    this.policy = policy;
+  }
+
+  @Override
+  public boolean retry(int failedAttempts) {
+    if (failedAttempts >= maxAttempts) {
+      return false;
+    }
+
+    return policy.retry(failedAttempts);
+  }
+
+  @Override
+  public String toString() {
+    return policy + " bounded by " + maxAttempts + " attempts";
+  }
+}
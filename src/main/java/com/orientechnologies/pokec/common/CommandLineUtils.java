@@ -3,27 +3,131 @@ package com.orientechnologies.pokec.common;
 import com.orientechnologies.orient.core.db.OrientDB;
 import com.orientechnologies.orient.core.db.OrientDBConfig;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.record.ODirection;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 public class CommandLineUtils {
   private static final int DEFAULT_NUM_THREADS = 8;
 
-  private static final String DEFAULT_DB_NAME          = "pokec";
-  private static final String DEFAULT_ENGINE_DIRECTORY = "./build/databases";
+  private static final double DEFAULT_READ_RATIO   = 0.9;
+  private static final double DEFAULT_UPDATE_RATIO = 0.08;
+  private static final double DEFAULT_INSERT_RATIO = 0.02;
 
-  private static final String EMBEDDED          = "embedded";
-  private static final String ENGINE_DIRECTORY  = "engineDirectory";
-  private static final String DB_NAME           = "dbName";
-  private static final String REMOTE_URL        = "remoteURL";
-  private static final String NUM_THREADS       = "numThreads";
-  private static final String INDEX_TYPE        = "indexType";
-  private static final String CSV_SUFFIX        = "csvSuffix";
-  private static final String WARMUP_OPERATIONS = "warmUpOperations";
-  private static final String OPERATIONS        = "operations";
+  private static final int    DEFAULT_TRAVERSAL_DEPTH     = 2;
+  private static final int    MAX_TRAVERSAL_DEPTH         = 3;
+  private static final String DEFAULT_TRAVERSAL_DIRECTION = "out";
+
+  private static final int DEFAULT_PATH_MAX_DEPTH = 6;
+
+  private static final int DEFAULT_LOAD_BATCH_SIZE = 1;
+  private static final int DEFAULT_PARSER_THREADS  = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+  private static final int    DEFAULT_UPDATE_POOL_SIZE = 10_000;
+  private static final long   DEFAULT_UPDATE_SEED      = 42;
+  private static final String SAMPLED_PAYLOAD_SIZE     = "sampled";
+
+  private static final String DEFAULT_JFR_SETTINGS = "profile";
+
+  private static final long DEFAULT_SWEEP_DURATION = 60;
+
+  private static final long   DEFAULT_ADAPTIVE_WARM_UP_DURATION = 600;
+  private static final double DEFAULT_WARM_UP_TOLERANCE         = 0.05;
+  private static final int    DEFAULT_WARM_UP_WINDOW            = 3;
+  private static final long   DEFAULT_WARM_UP_INTERVAL          = 5;
+
+  private static final double DEFAULT_SIGNIFICANCE_LEVEL   = 0.05;
+  private static final double DEFAULT_REGRESSION_THRESHOLD = 5;
+
+  private static final long DEFAULT_RETRY_BASE_DELAY = 100;
+  private static final long DEFAULT_RETRY_MAX_DELAY  = 10_000;
+
+  private static final double DEFAULT_HOTSPOT_DATA_FRACTION      = 0.2;
+  private static final double DEFAULT_HOTSPOT_OPERATION_FRACTION = 0.8;
+
+  private static final String ZIPFIAN_DISTRIBUTION           = "zipfian";
+  private static final String SCRAMBLED_ZIPFIAN_DISTRIBUTION = "scrambledZipfian";
+  private static final String HOTSPOT_DISTRIBUTION           = "hotspot";
+  private static final String LATEST_DISTRIBUTION            = "latest";
+  private static final String UNIFORM_DISTRIBUTION           = "uniform";
+  private static final String SEQUENTIAL_DISTRIBUTION        = "sequential";
+
+  private static final String SQL_LOOKUP_MODE   = "sql";
+  private static final String INDEX_LOOKUP_MODE = "index";
+  private static final String RID_LOOKUP_MODE   = "rid";
+
+  private static final String IMMEDIATE_RETRY_POLICY = "immediate";
+  private static final String BACKOFF_RETRY_POLICY   = "backoff";
+
+  private static final String POOLED_SESSION_MODE = "pooled";
+  private static final String PINNED_SESSION_MODE = "pinned";
+  private static final String BOTH_SESSION_MODES  = "both";
+
+  private static final String SQL_PATH_MODE       = "sql";
+  private static final String TRAVERSAL_PATH_MODE = "traversal";
+
+  private static final String DEFAULT_DB_NAME            = "pokec";
+  private static final String DEFAULT_ENGINE_DIRECTORY   = "./build/databases";
+  private static final String DEFAULT_SNAPSHOT_DIRECTORY = "./build/pokec-snapshot";
+
+  private static final String EMBEDDED                   = "embedded";
+  private static final String ENGINE_DIRECTORY           = "engineDirectory";
+  private static final String DB_NAME                    = "dbName";
+  private static final String REMOTE_URL                 = "remoteURL";
+  private static final String NUM_THREADS                = "numThreads";
+  private static final String INDEX_TYPE                 = "indexType";
+  private static final String CSV_SUFFIX                 = "csvSuffix";
+  private static final String WARMUP_OPERATIONS          = "warmUpOperations";
+  private static final String OPERATIONS                 = "operations";
+  private static final String TARGET_RATE                = "targetRate";
+  private static final String READ_RATIO                 = "readRatio";
+  private static final String UPDATE_RATIO               = "updateRatio";
+  private static final String INSERT_RATIO               = "insertRatio";
+  private static final String TRAVERSAL_DEPTH            = "traversalDepth";
+  private static final String TRAVERSAL_DIRECTION        = "traversalDirection";
+  private static final String TRAVERSAL_FAN_OUT          = "traversalFanOut";
+  private static final String TRAVERSAL_MAX_VISITED      = "traversalMaxVisited";
+  private static final String PATH_MODE                  = "pathMode";
+  private static final String PATH_MAX_DEPTH             = "pathMaxDepth";
+  private static final String LOAD_BATCH_SIZE            = "loadBatchSize";
+  private static final String PARSER_THREADS             = "parserThreads";
+  private static final String SNAPSHOT_DIRECTORY         = "snapshotDirectory";
+  private static final String RESUME                     = "resume";
+  private static final String KEY_DISTRIBUTION           = "keyDistribution";
+  private static final String ZIPFIAN_CONSTANT           = "zipfianConstant";
+  private static final String HOTSPOT_DATA_FRACTION      = "hotspotDataFraction";
+  private static final String HOTSPOT_OPERATION_FRACTION = "hotspotOperationFraction";
+  private static final String KEY_TABLE                  = "keyTable";
+  private static final String LOOKUP_MODE                = "lookupMode";
+  private static final String UPDATE_POOL_SIZE           = "updatePoolSize";
+  private static final String UPDATE_PAYLOAD_SIZE        = "updatePayloadSize";
+  private static final String UPDATE_SEED                = "updateSeed";
+  private static final String SESSION_MODE               = "sessionMode";
+  private static final String RETRY_POLICY               = "retryPolicy";
+  private static final String RETRY_BASE_DELAY           = "retryBaseDelay";
+  private static final String RETRY_MAX_DELAY            = "retryMaxDelay";
+  private static final String RETRY_MAX_ATTEMPTS         = "retryMaxAttempts";
+  private static final String JFR                        = "jfr";
+  private static final String JFR_SETTINGS               = "jfrSettings";
+  private static final String THREAD_SAMPLE_INTERVAL     = "threadSampleInterval";
+  private static final String THREAD_SWEEP               = "threadSweep";
+  private static final String SWEEP_DURATION             = "sweepDuration";
+  private static final String DURATION                   = "duration";
+  private static final String WARM_UP_DURATION           = "warmUpDuration";
+  private static final String ADAPTIVE_WARM_UP           = "adaptiveWarmUp";
+  private static final String WARM_UP_TOLERANCE          = "warmUpTolerance";
+  private static final String WARM_UP_WINDOW             = "warmUpWindow";
+  private static final String WARM_UP_INTERVAL           = "warmUpInterval";
+  private static final String RESULTS                    = "results";
+  private static final String SIGNIFICANCE_LEVEL         = "significanceLevel";
+  private static final String REGRESSION_THRESHOLD       = "regressionThreshold";
 
   private static final String TREE_INDEX        = "tree";
   private static final String HASH_INDEX        = "hash";
@@ -55,6 +159,143 @@ public class CommandLineUtils {
     Option operations = Option.builder(OPERATIONS).argName(OPERATIONS).desc("Amount of operations to be executed during workload")
         .hasArg().
             required(false).build();
+    Option targetRate = Option.builder(TARGET_RATE).argName(TARGET_RATE).desc(
+        "Amount of operations per second which are issued by all threads together. If set, workload is executed in open loop "
+            + "and latency is measured from intended start time of operation").hasArg().required(false).build();
+    Option readRatio = Option.builder(READ_RATIO).argName(READ_RATIO)
+        .desc("Fraction of read operations in mixed workload, " + DEFAULT_READ_RATIO + " by default").hasArg().required(false)
+        .build();
+    Option updateRatio = Option.builder(UPDATE_RATIO).argName(UPDATE_RATIO)
+        .desc("Fraction of update operations in mixed workload, " + DEFAULT_UPDATE_RATIO + " by default").hasArg()
+        .required(false).build();
+    Option insertRatio = Option.builder(INSERT_RATIO).argName(INSERT_RATIO)
+        .desc("Fraction of insert operations in mixed workload, " + DEFAULT_INSERT_RATIO + " by default").hasArg()
+        .required(false).build();
+    Option traversalDepth = Option.builder(TRAVERSAL_DEPTH).argName(TRAVERSAL_DEPTH).desc(
+        "Amount of hops expanded by traversal workload, from 1 to " + MAX_TRAVERSAL_DEPTH + ", " + DEFAULT_TRAVERSAL_DEPTH
+            + " by default").hasArg().required(false).build();
+    Option traversalDirection = Option.builder(TRAVERSAL_DIRECTION).argName(TRAVERSAL_DIRECTION).desc(
+        "Direction of edges followed by traversal and shortest path workloads, possible values are: out, in, both. " + DEFAULT_TRAVERSAL_DIRECTION
+            + " is used by default").hasArg().required(false).build();
+    Option traversalFanOut = Option.builder(TRAVERSAL_FAN_OUT).argName(TRAVERSAL_FAN_OUT)
+        .desc("Maximum amount of neighbours expanded for each vertex by traversal workload, not limited by default").hasArg()
+        .required(false).build();
+    Option traversalMaxVisited = Option.builder(TRAVERSAL_MAX_VISITED).argName(TRAVERSAL_MAX_VISITED)
+        .desc("Maximum amount of vertices visited by single traversal, not limited by default").hasArg().required(false).build();
+    Option pathMode = Option.builder(PATH_MODE).argName(PATH_MODE).desc(
+        "Way of search of shortest path, possible values are: " + SQL_PATH_MODE + " (SQL shortestPath() function), "
+            + TRAVERSAL_PATH_MODE + " (bidirectional BFS on client side). " + SQL_PATH_MODE + " is used by default").hasArg()
+        .required(false).build();
+    Option pathMaxDepth = Option.builder(PATH_MAX_DEPTH).argName(PATH_MAX_DEPTH)
+        .desc("Maximum length of path searched by shortest path workload, " + DEFAULT_PATH_MAX_DEPTH + " by default").hasArg()
+        .required(false).build();
+    Option loadBatchSize = Option.builder(LOAD_BATCH_SIZE).argName(LOAD_BATCH_SIZE).desc(
+        "Maximum amount of profiles stored in single transaction during initial load, " + DEFAULT_LOAD_BATCH_SIZE + " by default")
+        .hasArg().required(false).build();
+    Option parserThreads = Option.builder(PARSER_THREADS).argName(PARSER_THREADS).desc(
+        "Amount of threads used to parse profiles during initial load, quarter of available processors is used by default")
+        .hasArg().required(false).build();
+    Option snapshotDirectory = Option.builder(SNAPSHOT_DIRECTORY).argName(SNAPSHOT_DIRECTORY).desc(
+        "Directory of binary snapshot of data which is created by pokecPrepare and used by pokecLoad instead of original dumps")
+        .hasArg().required(false).build();
+    Option resume = Option.builder(RESUME).argName(RESUME).desc(
+        "Whether initial load of data should be resumed from the last checkpoint if previous load was interrupted, false by default")
+        .hasArg().required(false).build();
+    Option keyDistribution = Option.builder(KEY_DISTRIBUTION).argName(KEY_DISTRIBUTION).desc(
+        "Distribution of profiles accessed by workloads, possible values are: " + ZIPFIAN_DISTRIBUTION + ", "
+            + SCRAMBLED_ZIPFIAN_DISTRIBUTION + ", " + HOTSPOT_DISTRIBUTION + ", " + LATEST_DISTRIBUTION + ", "
+            + UNIFORM_DISTRIBUTION + ", " + SEQUENTIAL_DISTRIBUTION + ". " + ZIPFIAN_DISTRIBUTION + " is used by default")
+        .hasArg().required(false).build();
+    Option zipfianConstant = Option.builder(ZIPFIAN_CONSTANT).argName(ZIPFIAN_CONSTANT).desc(
+        "Skew of zipfian, scrambled zipfian and latest distributions, from 0 to 1 exclusive, " + ZipfianGenerator.ZIPFIAN_CONSTANT
+            + " by default").hasArg().required(false).build();
+    Option hotspotDataFraction = Option.builder(HOTSPOT_DATA_FRACTION).argName(HOTSPOT_DATA_FRACTION).desc(
+        "Fraction of profiles which are hot in hotspot distribution, " + DEFAULT_HOTSPOT_DATA_FRACTION + " by default").hasArg()
+        .required(false).build();
+    Option hotspotOperationFraction = Option.builder(HOTSPOT_OPERATION_FRACTION).argName(HOTSPOT_OPERATION_FRACTION).desc(
+        "Fraction of operations which access hot profiles in hotspot distribution, " + DEFAULT_HOTSPOT_OPERATION_FRACTION
+            + " by default").hasArg().required(false).build();
+    Option keyTable = Option.builder(KEY_TABLE).argName(KEY_TABLE).desc(
+        "Whether keys of all profiles should be generated once at the start of workload instead of generation of key on each "
+            + "operation, false by default").hasArg().required(false).build();
+    Option lookupMode = Option.builder(LOOKUP_MODE).argName(LOOKUP_MODE).desc(
+        "Way in which profiles are found by key, possible values are: " + SQL_LOOKUP_MODE + " (SQL query), " + INDEX_LOOKUP_MODE
+            + " (direct lookup in index), " + RID_LOOKUP_MODE + " (RID cached after the first lookup in index). "
+            + SQL_LOOKUP_MODE + " is used by default").hasArg().required(false).build();
+    Option updatePoolSize = Option.builder(UPDATE_POOL_SIZE).argName(UPDATE_POOL_SIZE).desc(
+        "Amount of values of fields generated for updates from profiles sampled from the database, " + DEFAULT_UPDATE_POOL_SIZE
+            + " by default").hasArg().required(false).build();
+    Option updatePayloadSize = Option.builder(UPDATE_PAYLOAD_SIZE).argName(UPDATE_PAYLOAD_SIZE).desc(
+        "Size of values of fields written by updates in characters, either fixed size, or range <min>-<max>, or "
+            + SAMPLED_PAYLOAD_SIZE + " if sizes of sampled values are kept. " + SAMPLED_PAYLOAD_SIZE + " is used by default")
+        .hasArg().required(false).build();
+    Option updateSeed = Option.builder(UPDATE_SEED).argName(UPDATE_SEED).desc(
+        "Seed of generation of values of fields written by updates, " + DEFAULT_UPDATE_SEED + " by default").hasArg()
+        .required(false).build();
+    Option sessionMode = Option.builder(SESSION_MODE).argName(SESSION_MODE).desc(
+        "Way in which workload threads obtain sessions, possible values are: " + POOLED_SESSION_MODE
+            + " (session is acquired from the pool for each operation), " + PINNED_SESSION_MODE
+            + " (each thread keeps single session), " + BOTH_SESSION_MODES + " (measured phase is run in both modes one after "
+            + "another and difference of throughput is reported). " + POOLED_SESSION_MODE + " is used by default").hasArg()
+        .required(false).build();
+    Option retryPolicy = Option.builder(RETRY_POLICY).argName(RETRY_POLICY).desc(
+        "Policy of retries of transactions which failed because of concurrent modification, possible values are: "
+            + IMMEDIATE_RETRY_POLICY + " (transaction is retried immediately), " + BACKOFF_RETRY_POLICY
+            + " (exponential backoff with jitter). " + IMMEDIATE_RETRY_POLICY + " is used by default").hasArg().required(false)
+        .build();
+    Option retryBaseDelay = Option.builder(RETRY_BASE_DELAY).argName(RETRY_BASE_DELAY).desc(
+        "Limit of delay before the first retry in microseconds for " + BACKOFF_RETRY_POLICY + " policy, "
+            + DEFAULT_RETRY_BASE_DELAY + " by default").hasArg().required(false).build();
+    Option retryMaxDelay = Option.builder(RETRY_MAX_DELAY).argName(RETRY_MAX_DELAY).desc(
+        "Maximum delay before retry in microseconds for " + BACKOFF_RETRY_POLICY + " policy, " + DEFAULT_RETRY_MAX_DELAY
+            + " by default").hasArg().required(false).build();
+    Option retryMaxAttempts = Option.builder(RETRY_MAX_ATTEMPTS).argName(RETRY_MAX_ATTEMPTS).desc(
+        "Maximum amount of attempts of single operation, operation fails once limit is reached, amount of attempts is not "
+            + "limited by default").hasArg().required(false).build();
+    Option jfr = Option.builder(JFR).argName(JFR).desc(
+        "Whether JFR recording of measured phase should be done, recording is written into the file named after CSV report, "
+            + "false by default").hasArg().required(false).build();
+    Option jfrSettings = Option.builder(JFR_SETTINGS).argName(JFR_SETTINGS).desc(
+        "Settings of JFR recording, either name of settings provided by JVM or path to .jfc file, " + DEFAULT_JFR_SETTINGS
+            + " by default").hasArg().required(false).build();
+    Option threadSampleInterval = Option.builder(THREAD_SAMPLE_INTERVAL).argName(THREAD_SAMPLE_INTERVAL).desc(
+        "Interval in milliseconds of sampling of dumps of threads during measured phase, threads are not sampled by default")
+        .hasArg().required(false).build();
+    Option threadSweep = Option.builder(THREAD_SWEEP).argName(THREAD_SWEEP).desc(
+        "Comma separated amounts of threads, for example 1,2,4,8. If set, measured phase is run for each amount of threads one "
+            + "after another for fixed duration and scaling of workload is reported, " + NUM_THREADS + " is used only by warm up")
+        .hasArg().required(false).build();
+    Option sweepDuration = Option.builder(SWEEP_DURATION).argName(SWEEP_DURATION).desc(
+        "Duration in seconds of run of each amount of threads of " + THREAD_SWEEP + ", value of " + DURATION + " or "
+            + DEFAULT_SWEEP_DURATION + " if it is not set by default").hasArg().required(false).build();
+    Option duration = Option.builder(DURATION).argName(DURATION).desc(
+        "Duration of measured phase in seconds, amount of operations is not limited unless " + OPERATIONS + " is set explicitly, "
+            + "phase is limited only by amount of operations by default").hasArg().required(false).build();
+    Option warmUpDuration = Option.builder(WARM_UP_DURATION).argName(WARM_UP_DURATION).desc(
+        "Duration of warm up in seconds, amount of operations is not limited unless " + WARMUP_OPERATIONS
+            + " is set explicitly. It is maximum duration of adaptive warm up, " + DEFAULT_ADAPTIVE_WARM_UP_DURATION
+            + " seconds by default in such case").hasArg().required(false).build();
+    Option adaptiveWarmUp = Option.builder(ADAPTIVE_WARM_UP).argName(ADAPTIVE_WARM_UP).desc(
+        "Whether warm up runs operations of the workload itself and stops once throughput becomes steady, false by default")
+        .hasArg().required(false).build();
+    Option warmUpTolerance = Option.builder(WARM_UP_TOLERANCE).argName(WARM_UP_TOLERANCE).desc(
+        "Maximum difference of throughput of consecutive intervals of adaptive warm up as fraction of their mean throughput, "
+            + DEFAULT_WARM_UP_TOLERANCE + " by default").hasArg().required(false).build();
+    Option warmUpWindow = Option.builder(WARM_UP_WINDOW).argName(WARM_UP_WINDOW).desc(
+        "Amount of consecutive intervals throughput of which should be steady to complete adaptive warm up, "
+            + DEFAULT_WARM_UP_WINDOW + " by default").hasArg().required(false).build();
+    Option warmUpInterval = Option.builder(WARM_UP_INTERVAL).argName(WARM_UP_INTERVAL).desc(
+        "Length of interval of measurement of throughput of adaptive warm up in seconds, " + DEFAULT_WARM_UP_INTERVAL
+            + " by default").hasArg().required(false).build();
+    Option results = Option.builder(RESULTS).argName(RESULTS).desc(
+        "Comma separated JSON results of workloads which are compared by pokecCompare, the first result is the baseline")
+        .hasArg().required(false).build();
+    Option significanceLevel = Option.builder(SIGNIFICANCE_LEVEL).argName(SIGNIFICANCE_LEVEL).desc(
+        "Significance level of Welch's t-test which is used by pokecCompare to check whether difference of results is significant, "
+            + DEFAULT_SIGNIFICANCE_LEVEL + " by default").hasArg().required(false).build();
+    Option regressionThreshold = Option.builder(REGRESSION_THRESHOLD).argName(REGRESSION_THRESHOLD).desc(
+        "Minimum drop of throughput in percents which is treated as regression by pokecCompare if it is significant, "
+            + DEFAULT_REGRESSION_THRESHOLD + " by default").hasArg().required(false).build();
 
     options.addOption(embedded);
     options.addOption(engineDirectory);
@@ -65,6 +306,48 @@ public class CommandLineUtils {
     options.addOption(csvSuffix);
     options.addOption(warmUpOperations);
     options.addOption(operations);
+    options.addOption(targetRate);
+    options.addOption(readRatio);
+    options.addOption(updateRatio);
+    options.addOption(insertRatio);
+    options.addOption(traversalDepth);
+    options.addOption(traversalDirection);
+    options.addOption(traversalFanOut);
+    options.addOption(traversalMaxVisited);
+    options.addOption(pathMode);
+    options.addOption(pathMaxDepth);
+    options.addOption(loadBatchSize);
+    options.addOption(parserThreads);
+    options.addOption(snapshotDirectory);
+    options.addOption(resume);
+    options.addOption(keyDistribution);
+    options.addOption(zipfianConstant);
+    options.addOption(hotspotDataFraction);
+    options.addOption(hotspotOperationFraction);
+    options.addOption(keyTable);
+    options.addOption(lookupMode);
+    options.addOption(updatePoolSize);
+    options.addOption(updatePayloadSize);
+    options.addOption(updateSeed);
+    options.addOption(sessionMode);
+    options.addOption(retryPolicy);
+    options.addOption(retryBaseDelay);
+    options.addOption(retryMaxDelay);
+    options.addOption(retryMaxAttempts);
+    options.addOption(jfr);
+    options.addOption(jfrSettings);
+    options.addOption(threadSampleInterval);
+    options.addOption(threadSweep);
+    options.addOption(sweepDuration);
+    options.addOption(duration);
+    options.addOption(warmUpDuration);
+    options.addOption(adaptiveWarmUp);
+    options.addOption(warmUpTolerance);
+    options.addOption(warmUpWindow);
+    options.addOption(warmUpInterval);
+    options.addOption(results);
+    options.addOption(significanceLevel);
+    options.addOption(regressionThreshold);
 
     return options;
   }
@@ -85,6 +368,86 @@ public class CommandLineUtils {
     return 2 * profilesCount;
   }
 
+  /**
+   * @return Whether amount of operations of measured phase is set explicitly.
+   */
+  public static boolean isOperationsSet(CommandLine cmd) {
+    return cmd.hasOption(OPERATIONS);
+  }
+
+  /**
+   * @return Whether amount of operations of warm up is set explicitly.
+   */
+  public static boolean isWarmUpOperationsSet(CommandLine cmd) {
+    return cmd.hasOption(WARMUP_OPERATIONS);
+  }
+
+  /**
+   * @return Duration of measured phase in seconds or 0 if phase is limited only by amount of operations.
+   */
+  public static long getDuration(CommandLine cmd) {
+    if (cmd.hasOption(DURATION)) {
+      return Long.parseLong(cmd.getOptionValue(DURATION));
+    }
+
+    return 0;
+  }
+
+  /**
+   * @return Duration of warm up in seconds or 0 if warm up is limited only by amount of operations.
+   */
+  public static long getWarmUpDuration(CommandLine cmd) {
+    if (cmd.hasOption(WARM_UP_DURATION)) {
+      return Long.parseLong(cmd.getOptionValue(WARM_UP_DURATION));
+    }
+
+    if (isAdaptiveWarmUp(cmd)) {
+      return DEFAULT_ADAPTIVE_WARM_UP_DURATION;
+    }
+
+    return 0;
+  }
+
+  public static boolean isAdaptiveWarmUp(CommandLine cmd) {
+    if (cmd.hasOption(ADAPTIVE_WARM_UP)) {
+      return Boolean.parseBoolean(cmd.getOptionValue(ADAPTIVE_WARM_UP));
+    }
+
+    return false;
+  }
+
+  /**
+   * @return Detector of steady state of adaptive warm up or <code>null</code> if warm up is not adaptive.
+   */
+  public static SteadyStateDetector createSteadyStateDetector(CommandLine cmd) {
+    if (!isAdaptiveWarmUp(cmd)) {
+      return null;
+    }
+
+    final double tolerance;
+    if (cmd.hasOption(WARM_UP_TOLERANCE)) {
+      tolerance = Double.parseDouble(cmd.getOptionValue(WARM_UP_TOLERANCE));
+    } else {
+      tolerance = DEFAULT_WARM_UP_TOLERANCE;
+    }
+
+    final int window;
+    if (cmd.hasOption(WARM_UP_WINDOW)) {
+      window = Integer.parseInt(cmd.getOptionValue(WARM_UP_WINDOW));
+    } else {
+      window = DEFAULT_WARM_UP_WINDOW;
+    }
+
+    final long interval;
+    if (cmd.hasOption(WARM_UP_INTERVAL)) {
+      interval = Long.parseLong(cmd.getOptionValue(WARM_UP_INTERVAL));
+    } else {
+      interval = DEFAULT_WARM_UP_INTERVAL;
+    }
+
+    return new SteadyStateDetector(window, tolerance, interval * 1000);
+  }
+
   public static int getOperations(CommandLine cmd, int profilesCount) {
     if (cmd.hasOption(OPERATIONS)) {
       return Integer.parseInt(cmd.getOptionValue(OPERATIONS));
@@ -93,6 +456,387 @@ public class CommandLineUtils {
     return 4 * profilesCount;
   }
 
+  /**
+   * @return Amount of operations of delete workload, by default tenth of profiles is deleted.
+   */
+  public static int getDeleteOperations(CommandLine cmd, int profilesCount) {
+    if (cmd.hasOption(OPERATIONS)) {
+      return Integer.parseInt(cmd.getOptionValue(OPERATIONS));
+    }
+
+    return profilesCount / 10;
+  }
+
+  public static long getTargetRate(CommandLine cmd) {
+    if (cmd.hasOption(TARGET_RATE)) {
+      return Long.parseLong(cmd.getOptionValue(TARGET_RATE));
+    }
+
+    return 0;
+  }
+
+  public static double getReadRatio(CommandLine cmd) {
+    if (cmd.hasOption(READ_RATIO)) {
+      return Double.parseDouble(cmd.getOptionValue(READ_RATIO));
+    }
+
+    return DEFAULT_READ_RATIO;
+  }
+
+  public static double getUpdateRatio(CommandLine cmd) {
+    if (cmd.hasOption(UPDATE_RATIO)) {
+      return Double.parseDouble(cmd.getOptionValue(UPDATE_RATIO));
+    }
+
+    return DEFAULT_UPDATE_RATIO;
+  }
+
+  public static double getInsertRatio(CommandLine cmd) {
+    if (cmd.hasOption(INSERT_RATIO)) {
+      return Double.parseDouble(cmd.getOptionValue(INSERT_RATIO));
+    }
+
+    return DEFAULT_INSERT_RATIO;
+  }
+
+  public static int getTraversalDepth(CommandLine cmd) {
+    if (cmd.hasOption(TRAVERSAL_DEPTH)) {
+      final int depth = Integer.parseInt(cmd.getOptionValue(TRAVERSAL_DEPTH));
+      if (depth < 1 || depth > MAX_TRAVERSAL_DEPTH) {
+        throw new IllegalArgumentException("Invalid traversal depth " + depth);
+      }
+
+      return depth;
+    }
+
+    return DEFAULT_TRAVERSAL_DEPTH;
+  }
+
+  public static ODirection getTraversalDirection(CommandLine cmd) {
+    final String directionValue;
+    if (cmd.hasOption(TRAVERSAL_DIRECTION)) {
+      directionValue = cmd.getOptionValue(TRAVERSAL_DIRECTION);
+    } else {
+      directionValue = DEFAULT_TRAVERSAL_DIRECTION;
+    }
+
+    switch (directionValue) {
+    case "out":
+      return ODirection.OUT;
+    case "in":
+      return ODirection.IN;
+    case "both":
+      return ODirection.BOTH;
+    default:
+      throw new IllegalArgumentException("Invalid traversal direction '" + directionValue + "'");
+    }
+  }
+
+  public static int getTraversalFanOut(CommandLine cmd) {
+    if (cmd.hasOption(TRAVERSAL_FAN_OUT)) {
+      return Integer.parseInt(cmd.getOptionValue(TRAVERSAL_FAN_OUT));
+    }
+
+    return 0;
+  }
+
+  public static int getTraversalMaxVisited(CommandLine cmd) {
+    if (cmd.hasOption(TRAVERSAL_MAX_VISITED)) {
+      return Integer.parseInt(cmd.getOptionValue(TRAVERSAL_MAX_VISITED));
+    }
+
+    return 0;
+  }
+
+  public static boolean isSQLPathMode(CommandLine cmd) {
+    if (cmd.hasOption(PATH_MODE)) {
+      final String pathModeValue = cmd.getOptionValue(PATH_MODE);
+      switch (pathModeValue) {
+      case SQL_PATH_MODE:
+        return true;
+      case TRAVERSAL_PATH_MODE:
+        return false;
+      default:
+        throw new IllegalArgumentException("Invalid path mode '" + pathModeValue + "'");
+      }
+    }
+
+    return true;
+  }
+
+  public static int getPathMaxDepth(CommandLine cmd) {
+    if (cmd.hasOption(PATH_MAX_DEPTH)) {
+      return Integer.parseInt(cmd.getOptionValue(PATH_MAX_DEPTH));
+    }
+
+    return DEFAULT_PATH_MAX_DEPTH;
+  }
+
+  public static int getLoadBatchSize(CommandLine cmd) {
+    if (cmd.hasOption(LOAD_BATCH_SIZE)) {
+      final int batchSize = Integer.parseInt(cmd.getOptionValue(LOAD_BATCH_SIZE));
+      if (batchSize < 1) {
+        throw new IllegalArgumentException("Invalid size of batch " + batchSize);
+      }
+
+      return batchSize;
+    }
+
+    return DEFAULT_LOAD_BATCH_SIZE;
+  }
+
+  public static int getParserThreads(CommandLine cmd) {
+    if (cmd.hasOption(PARSER_THREADS)) {
+      return Integer.parseInt(cmd.getOptionValue(PARSER_THREADS));
+    }
+
+    return DEFAULT_PARSER_THREADS;
+  }
+
+  public static File getSnapshotDirectory(CommandLine cmd) {
+    if (cmd.hasOption(SNAPSHOT_DIRECTORY)) {
+      return new File(cmd.getOptionValue(SNAPSHOT_DIRECTORY));
+    }
+
+    return new File(DEFAULT_SNAPSHOT_DIRECTORY);
+  }
+
+  public static boolean isResume(CommandLine cmd) {
+    if (cmd.hasOption(RESUME)) {
+      return Boolean.parseBoolean(cmd.getOptionValue(RESUME));
+    }
+
+    return false;
+  }
+
+  public static String getKeyDistributionName(CommandLine cmd) {
+    if (cmd.hasOption(KEY_DISTRIBUTION)) {
+      return cmd.getOptionValue(KEY_DISTRIBUTION);
+    }
+
+    return ZIPFIAN_DISTRIBUTION;
+  }
+
+  /**
+   * @param itemsCount Amount of profiles in database at the start of workload.
+   */
+  public static KeyDistribution createKeyDistribution(CommandLine cmd, long itemsCount) {
+    final double zipfianConstant;
+    if (cmd.hasOption(ZIPFIAN_CONSTANT)) {
+      zipfianConstant = Double.parseDouble(cmd.getOptionValue(ZIPFIAN_CONSTANT));
+    } else {
+      zipfianConstant = ZipfianGenerator.ZIPFIAN_CONSTANT;
+    }
+
+    final String distributionName = getKeyDistributionName(cmd);
+    switch (distributionName) {
+    case ZIPFIAN_DISTRIBUTION:
+      return new ZipfianKeyDistribution(itemsCount, zipfianConstant);
+    case SCRAMBLED_ZIPFIAN_DISTRIBUTION:
+      return new ScrambledZipfianKeyDistribution(itemsCount, zipfianConstant);
+    case HOTSPOT_DISTRIBUTION:
+      final double dataFraction;
+      if (cmd.hasOption(HOTSPOT_DATA_FRACTION)) {
+        dataFraction = Double.parseDouble(cmd.getOptionValue(HOTSPOT_DATA_FRACTION));
+      } else {
+        dataFraction = DEFAULT_HOTSPOT_DATA_FRACTION;
+      }
+
+      final double operationFraction;
+      if (cmd.hasOption(HOTSPOT_OPERATION_FRACTION)) {
+        operationFraction = Double.parseDouble(cmd.getOptionValue(HOTSPOT_OPERATION_FRACTION));
+      } else {
+        operationFraction = DEFAULT_HOTSPOT_OPERATION_FRACTION;
+      }
+
+      return new HotspotKeyDistribution(dataFraction, operationFraction);
+    case LATEST_DISTRIBUTION:
+      return new LatestKeyDistribution(itemsCount, zipfianConstant);
+    case UNIFORM_DISTRIBUTION:
+      return new UniformKeyDistribution();
+    case SEQUENTIAL_DISTRIBUTION:
+      return new SequentialKeyDistribution();
+    default:
+      throw new IllegalArgumentException("Invalid key distribution '" + distributionName + "'");
+    }
+  }
+
+  public static boolean isKeyTable(CommandLine cmd) {
+    if (cmd.hasOption(KEY_TABLE)) {
+      return Boolean.parseBoolean(cmd.getOptionValue(KEY_TABLE));
+    }
+
+    return false;
+  }
+
+  public static LookupMode getLookupMode(CommandLine cmd) {
+    if (cmd.hasOption(LOOKUP_MODE)) {
+      final String lookupModeValue = cmd.getOptionValue(LOOKUP_MODE);
+      switch (lookupModeValue) {
+      case SQL_LOOKUP_MODE:
+        return LookupMode.SQL;
+      case INDEX_LOOKUP_MODE:
+        return LookupMode.INDEX;
+      case RID_LOOKUP_MODE:
+        return LookupMode.RID;
+      default:
+        throw new IllegalArgumentException("Invalid lookup mode '" + lookupModeValue + "'");
+      }
+    }
+
+    return LookupMode.SQL;
+  }
+
+  /**
+   * @return Session modes in which measured phase of workload is run, in the order of runs.
+   */
+  public static List<SessionMode> getSessionModes(CommandLine cmd) {
+    if (cmd.hasOption(SESSION_MODE)) {
+      final String sessionModeValue = cmd.getOptionValue(SESSION_MODE);
+      switch (sessionModeValue) {
+      case POOLED_SESSION_MODE:
+        return Collections.singletonList(SessionMode.POOLED);
+      case PINNED_SESSION_MODE:
+        return Collections.singletonList(SessionMode.PINNED);
+      case BOTH_SESSION_MODES:
+        return Arrays.asList(SessionMode.POOLED, SessionMode.PINNED);
+      default:
+        throw new IllegalArgumentException("Invalid session mode '" + sessionModeValue + "'");
+      }
+    }
+
+    return Collections.singletonList(SessionMode.POOLED);
+  }
+
+  public static int getUpdatePoolSize(CommandLine cmd) {
+    if (cmd.hasOption(UPDATE_POOL_SIZE)) {
+      final int poolSize = Integer.parseInt(cmd.getOptionValue(UPDATE_POOL_SIZE));
+      if (poolSize < 1) {
+        throw new IllegalArgumentException("Invalid size of pool of update values " + poolSize);
+      }
+
+      return poolSize;
+    }
+
+    return DEFAULT_UPDATE_POOL_SIZE;
+  }
+
+  /**
+   * @return Minimum size of values written by updates or 0 if sizes of sampled values are kept.
+   */
+  public static int getUpdatePayloadMinSize(CommandLine cmd) {
+    return getUpdatePayloadSize(cmd)[0];
+  }
+
+  /**
+   * @return Maximum size of values written by updates or 0 if sizes of sampled values are kept.
+   */
+  public static int getUpdatePayloadMaxSize(CommandLine cmd) {
+    return getUpdatePayloadSize(cmd)[1];
+  }
+
+  private static int[] getUpdatePayloadSize(CommandLine cmd) {
+    if (!cmd.hasOption(UPDATE_PAYLOAD_SIZE)) {
+      return new int[] { 0, 0 };
+    }
+
+    final String payloadSizeValue = cmd.getOptionValue(UPDATE_PAYLOAD_SIZE);
+    if (payloadSizeValue.equals(SAMPLED_PAYLOAD_SIZE)) {
+      return new int[] { 0, 0 };
+    }
+
+    final int separator = payloadSizeValue.indexOf('-');
+    final int minSize;
+    final int maxSize;
+    if (separator < 0) {
+      minSize = Integer.parseInt(payloadSizeValue);
+      maxSize = minSize;
+    } else {
+      minSize = Integer.parseInt(payloadSizeValue.substring(0, separator));
+      maxSize = Integer.parseInt(payloadSizeValue.substring(separator + 1));
+    }
+
+    if (minSize < 1 || maxSize < minSize) {
+      throw new IllegalArgumentException("Invalid size of update values '" + payloadSizeValue + "'");
+    }
+
+    return new int[] { minSize, maxSize };
+  }
+
+  public static long getUpdateSeed(CommandLine cmd) {
+    if (cmd.hasOption(UPDATE_SEED)) {
+      return Long.parseLong(cmd.getOptionValue(UPDATE_SEED));
+    }
+
+    return DEFAULT_UPDATE_SEED;
+  }
+
+  public static RetryPolicy createRetryPolicy(CommandLine cmd) {
+    final RetryPolicy retryPolicy;
+    final String retryPolicyName;
+    if (cmd.hasOption(RETRY_POLICY)) {
+      retryPolicyName = cmd.getOptionValue(RETRY_POLICY);
+    } else {
+      retryPolicyName = IMMEDIATE_RETRY_POLICY;
+    }
+
+    switch (retryPolicyName) {
+    case IMMEDIATE_RETRY_POLICY:
+      retryPolicy = new ImmediateRetryPolicy();
+      break;
+    case BACKOFF_RETRY_POLICY:
+      final long baseDelay;
+      if (cmd.hasOption(RETRY_BASE_DELAY)) {
+        baseDelay = Long.parseLong(cmd.getOptionValue(RETRY_BASE_DELAY));
+      } else {
+        baseDelay = DEFAULT_RETRY_BASE_DELAY;
+      }
+
+      final long maxDelay;
+      if (cmd.hasOption(RETRY_MAX_DELAY)) {
+        maxDelay = Long.parseLong(cmd.getOptionValue(RETRY_MAX_DELAY));
+      } else {
+        maxDelay = DEFAULT_RETRY_MAX_DELAY;
+      }
+
+      retryPolicy = new BackoffRetryPolicy(baseDelay * 1000, maxDelay * 1000);
+      break;
+    default:
+      throw new IllegalArgumentException("Invalid retry policy '" + retryPolicyName + "'");
+    }
+
+    if (cmd.hasOption(RETRY_MAX_ATTEMPTS)) {
+      return new BoundedRetryPolicy(Integer.parseInt(cmd.getOptionValue(RETRY_MAX_ATTEMPTS)), retryPolicy);
+    }
+
+    return retryPolicy;
+  }
+
+  public static PhaseProfiler createPhaseProfiler(CommandLine cmd) {
+    final boolean jfr;
+    if (cmd.hasOption(JFR)) {
+      jfr = Boolean.parseBoolean(cmd.getOptionValue(JFR));
+    } else {
+      jfr = false;
+    }
+
+    final String jfrSettings;
+    if (cmd.hasOption(JFR_SETTINGS)) {
+      jfrSettings = cmd.getOptionValue(JFR_SETTINGS);
+    } else {
+      jfrSettings = DEFAULT_JFR_SETTINGS;
+    }
+
+    final long threadSampleInterval;
+    if (cmd.hasOption(THREAD_SAMPLE_INTERVAL)) {
+      threadSampleInterval = Long.parseLong(cmd.getOptionValue(THREAD_SAMPLE_INTERVAL));
+    } else {
+      threadSampleInterval = 0;
+    }
+
+    return new PhaseProfiler(jfr, jfrSettings, threadSampleInterval);
+  }
+
   public static OrientDB createOrientDBInstance(CommandLine cmd) {
     if (cmd.hasOption(EMBEDDED)) {
       String embeddedValue = cmd.getOptionValue(EMBEDDED);
@@ -132,6 +876,78 @@ public class CommandLineUtils {
     }
   }
 
+  /**
+   * @return Amounts of threads with which measured phase of workload is run one after another, or empty list if sweep of
+   * concurrency levels is not requested.
+   */
+  public static List<Integer> getThreadSweep(CommandLine cmd) {
+    if (cmd.hasOption(THREAD_SWEEP)) {
+      final List<Integer> threadSweep = new ArrayList<>();
+      for (String level : cmd.getOptionValue(THREAD_SWEEP).split(",")) {
+        final int numThreads = Integer.parseInt(level.trim());
+        if (numThreads < 1) {
+          throw new IllegalArgumentException("Invalid amount of threads " + numThreads + " in sweep of concurrency levels");
+        }
+
+        threadSweep.add(numThreads);
+      }
+
+      return threadSweep;
+    }
+
+    return Collections.emptyList();
+  }
+
+  /**
+   * @return Duration of run of each concurrency level of sweep in seconds.
+   */
+  public static long getSweepDuration(CommandLine cmd) {
+    if (cmd.hasOption(SWEEP_DURATION)) {
+      return Long.parseLong(cmd.getOptionValue(SWEEP_DURATION));
+    }
+
+    if (cmd.hasOption(DURATION)) {
+      return getDuration(cmd);
+    }
+
+    return DEFAULT_SWEEP_DURATION;
+  }
+
+  /**
+   * @return Paths to JSON results of workloads in the order in which they are passed.
+   */
+  public static List<String> getResultFiles(CommandLine cmd) {
+    if (cmd.hasOption(RESULTS)) {
+      final List<String> resultFiles = new ArrayList<>();
+      for (String resultFile : cmd.getOptionValue(RESULTS).split(",")) {
+        resultFiles.add(resultFile.trim());
+      }
+
+      return resultFiles;
+    }
+
+    return Collections.emptyList();
+  }
+
+  public static double getSignificanceLevel(CommandLine cmd) {
+    if (cmd.hasOption(SIGNIFICANCE_LEVEL)) {
+      return Double.parseDouble(cmd.getOptionValue(SIGNIFICANCE_LEVEL));
+    }
+
+    return DEFAULT_SIGNIFICANCE_LEVEL;
+  }
+
+  /**
+   * @return Minimum drop of throughput in percents which is treated as regression.
+   */
+  public static double getRegressionThreshold(CommandLine cmd) {
+    if (cmd.hasOption(REGRESSION_THRESHOLD)) {
+      return Double.parseDouble(cmd.getOptionValue(REGRESSION_THRESHOLD));
+    }
+
+    return DEFAULT_REGRESSION_THRESHOLD;
+  }
+
   public static int numThreads(CommandLine cmd) {
     if (cmd.hasOption(NUM_THREADS)) {
       String numThreadsValue = cmd.getOptionValue(NUM_THREADS);
@@ -0,0 +1,35 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Zipfian generator which follows growth of amount of items. Once amount of items exceeds amount of items of current generator,
+ * generator is resized, zeta constant of resized generator is computed incrementally.
+ */
+final class GrowingZipfianGenerator {
+  private volatile ZipfianGenerator generator;
+
+  GrowingZipfianGenerator(long itemsCount, double zipfianConstant) {
+    this.generator = new ZipfianGenerator(itemsCount, zipfianConstant);
+  }
+
+  /**
+   * @param itemsCount Current amount of items.
+   *
+   * @return Next item, it may exceed passed in amount of items if amount of items decreased.
+   */
+  long nextLong(long itemsCount) {
+    ZipfianGenerator current = generator;
+    if (itemsCount > current.getItems()) {
+      current = grow(itemsCount);
+    }
+
+    return current.nextLong();
+  }
+
+  private synchronized ZipfianGenerator grow(long itemsCount) {
+    if (itemsCount > generator.getItems()) {
+      generator = generator.resize(itemsCount);
+    }
+
+    return generator;
+  }
+}
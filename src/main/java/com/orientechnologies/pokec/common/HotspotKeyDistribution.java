@@ -0,0 +1,41 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution where given fraction of operations accesses given fraction of the first inserted profiles, the rest of operations
+ * accesses the rest of profiles. Profiles are chosen uniformly inside of both sets.
+ */
+public final class HotspotKeyDistribution implements KeyDistribution {
+  private final double dataFraction;
+  private final double operationFraction;
+
+  /**
+   * @param dataFraction      Fraction of profiles which are accessed by the hot set of operations.
+   * @param operationFraction Fraction of operations which access hot profiles.
+   */
+  public HotspotKeyDistribution(double dataFraction, double operationFraction) {
+    if (dataFraction <= 0 || dataFraction > 1) {
+      throw new IllegalArgumentException("Fraction of hot profiles should be in range (0, 1] but is " + dataFraction);
+    }
+
+    if (operationFraction < 0 || operationFraction > 1) {
+      throw new IllegalArgumentException("Fraction of hot operations should be in range [0, 1] but is " + operationFraction);
+    }
+
+    this.dataFraction = dataFraction;
+    this.operationFraction = operationFraction;
+  }
+
+  @Override
+  public long nextItem(long itemsCount) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final long hotItems = Math.max(1, (long) (itemsCount * dataFraction));
+
+    if (hotItems >= itemsCount || random.nextDouble() < operationFraction) {
+      return random.nextLong(hotItems);
+    }
+
+    return hotItems + random.nextLong(itemsCount - hotItems);
+  }
+}
@@ -0,0 +1,16 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Retries failed transaction immediately without any limit of amount of attempts.
+ */
+public final class ImmediateRetryPolicy implements RetryPolicy {
+  @Override
+  public boolean retry(int failedAttempts) {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "immediate";
+  }
+}
@@ -0,0 +1,188 @@
+package com.orientechnologies.pokec.common;
+
+import com.orientechnologies.common.directmemory.ODirectMemoryAllocator;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Samples state of JVM through platform MXBeans, so drops of throughput can be correlated with garbage collection and with
+ * pressure on the disk cache. Following values are reported for each interval and for the whole phase: used heap and used old
+ * generation in megabytes, allocation rate in megabytes per second, used direct and mapped buffers in megabytes, direct memory
+ * allocated by OrientDB (disk cache) in megabytes, time of JIT compilation in milliseconds, amount of live threads and then
+ * amount and time in milliseconds of collections of each garbage collector.
+ * <p>
+ * Allocation rate is calculated from amount of memory allocated by live threads, so memory allocated by threads which are
+ * terminated during the interval is not accounted. Direct memory of OrientDB is known only if database is embedded.
+ */
+public final class JvmTelemetry {
+  private static final long MEGABYTE = 1024 * 1024;
+
+  private final List<GarbageCollectorMXBean> collectors        = ManagementFactory.getGarbageCollectorMXBeans();
+  private final ThreadMXBean                 threadMXBean      = ManagementFactory.getThreadMXBean();
+  private final CompilationMXBean            compilationMXBean = ManagementFactory.getCompilationMXBean();
+  private final MemoryPoolMXBean             oldGeneration     = findOldGeneration();
+  private final BufferPoolMXBean             directBuffers;
+  private final BufferPoolMXBean             mappedBuffers;
+
+  private Sample startSample;
+  private Sample intervalSample;
+
+  public JvmTelemetry() {
+    BufferPoolMXBean direct = null;
+    BufferPoolMXBean mapped = null;
+    for (BufferPoolMXBean bufferPool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+      if (bufferPool.getName().equals("direct")) {
+        direct = bufferPool;
+      } else if (bufferPool.getName().equals("mapped")) {
+        mapped = bufferPool;
+      }
+    }
+
+    this.directBuffers = direct;
+    this.mappedBuffers = mapped;
+
+    this.startSample = new Sample();
+    this.intervalSample = startSample;
+  }
+
+  /**
+   * Starts the first interval, values of the whole phase are calculated since this call too.
+   */
+  public void start() {
+    startSample = new Sample();
+    intervalSample = startSample;
+  }
+
+  /**
+   * Adds values of the interval since the previous call to the passed in CSV record and prints them to the console.
+   *
+   * @param timePassed Duration of the interval in nanoseconds.
+   */
+  public void addIntervalStatistics(List<Object> record, long timePassed) {
+    final Sample sample = new Sample();
+    addStatistics(record, intervalSample, sample, timePassed);
+    intervalSample = sample;
+  }
+
+  /**
+   * Adds values of the whole phase to the passed in CSV record and prints them to the console, current values are reported for
+   * heap, buffers and threads.
+   *
+   * @param timePassed Duration of the phase in nanoseconds.
+   */
+  public void addTotalStatistics(List<Object> record, long timePassed) {
+    addStatistics(record, startSample, new Sample(), timePassed);
+  }
+
+  private void addStatistics(List<Object> record, Sample previous, Sample current, long timePassed) {
+    final long allocatedBytes = Math.max(0, current.allocatedBytes - previous.allocatedBytes);
+    final long allocationRate = (long) (allocatedBytes * 1_000_000_000.0 / timePassed / MEGABYTE);
+    final long compilationTime = current.compilationTime - previous.compilationTime;
+
+    final StringBuilder collections = new StringBuilder();
+    long collectionsCount = 0;
+    long collectionsTime = 0;
+    for (int i = 0; i < collectors.size(); i++) {
+      final long count = current.collectionCounts[i] - previous.collectionCounts[i];
+      final long time = current.collectionTimes[i] - previous.collectionTimes[i];
+
+      collectionsCount += count;
+      collectionsTime += time;
+      collections.append(String.format(", %s %d/%d ms", collectors.get(i).getName(), count, time));
+    }
+
+    System.out.printf("\tjvm : heap %d MB, old gen %d MB, allocation %d MB/s, direct buffers %d MB, mapped buffers %d MB, "
+            + "disk cache %d MB, jit %d ms, %d threads, gc %d/%d ms%s\n", current.heapUsed / MEGABYTE,
+        current.oldGenerationUsed / MEGABYTE, allocationRate, current.directBuffersUsed / MEGABYTE,
+        current.mappedBuffersUsed / MEGABYTE, current.diskCacheUsed / MEGABYTE, compilationTime, current.threadsCount,
+        collectionsCount, collectionsTime, collections);
+
+    record.add(current.heapUsed / MEGABYTE);
+    record.add(current.oldGenerationUsed / MEGABYTE);
+    record.add(allocationRate);
+    record.add(current.directBuffersUsed / MEGABYTE);
+    record.add(current.mappedBuffersUsed / MEGABYTE);
+    record.add(current.diskCacheUsed / MEGABYTE);
+    record.add(compilationTime);
+    record.add(current.threadsCount);
+
+    for (int i = 0; i < collectors.size(); i++) {
+      record.add(current.collectionCounts[i] - previous.collectionCounts[i]);
+      record.add(current.collectionTimes[i] - previous.collectionTimes[i]);
+    }
+  }
+
+  private static MemoryPoolMXBean findOldGeneration() {
+    for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+      final String name = memoryPool.getName();
+      if (memoryPool.getType() == MemoryType.HEAP && (name.contains("Old Gen") || name.contains("Tenured"))) {
+        return memoryPool;
+      }
+    }
+
+    return null;
+  }
+
+  private long getAllocatedBytes() {
+    if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+      return 0;
+    }
+
+    final com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+    if (!sunThreadMXBean.isThreadAllocatedMemorySupported() || !sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+      return 0;
+    }
+
+    long allocatedBytes = 0;
+    for (long allocated : sunThreadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+      if (allocated > 0) {
+        allocatedBytes += allocated;
+      }
+    }
+
+    return allocatedBytes;
+  }
+
+  /**
+   * Values of counters of JVM at the moment of creation of the sample.
+   */
+  private final class Sample {
+    private final long   heapUsed;
+    private final long   oldGenerationUsed;
+    private final long   allocatedBytes;
+    private final long   directBuffersUsed;
+    private final long   mappedBuffersUsed;
+    private final long   diskCacheUsed;
+    private final long   compilationTime;
+    private final int    threadsCount;
+    private final long[] collectionCounts;
+    private final long[] collectionTimes;
+
+    private Sample() {
+      heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+      oldGenerationUsed = oldGeneration != null ? oldGeneration.getUsage().getUsed() : 0;
+      allocatedBytes = getAllocatedBytes();
+      directBuffersUsed = directBuffers != null ? directBuffers.getMemoryUsed() : 0;
+      mappedBuffersUsed = mappedBuffers != null ? mappedBuffers.getMemoryUsed() : 0;
+      diskCacheUsed = ODirectMemoryAllocator.instance().getMemoryConsumption();
+      compilationTime = compilationMXBean != null && compilationMXBean.isCompilationTimeMonitoringSupported() ?
+          compilationMXBean.getTotalCompilationTime() :
+          0;
+      threadsCount = threadMXBean.getThreadCount();
+
+      collectionCounts = new long[collectors.size()];
+      collectionTimes = new long[collectors.size()];
+      for (int i = 0; i < collectors.size(); i++) {
+        collectionCounts[i] = Math.max(0, collectors.get(i).getCollectionCount());
+        collectionTimes[i] = Math.max(0, collectors.get(i).getCollectionTime());
+      }
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Distribution of indexes of profiles which are accessed by workloads. Key of profile is generated from its index by
+ * {@link KeyGenerator#generateKey(long)}, so index of profile is also its position in the order of insertion of profiles.
+ * Implementations are shared between all worker threads.
+ */
+public interface KeyDistribution {
+  /**
+   * @param itemsCount Amount of profiles known to the workload.
+   *
+   * @return Index of the next profile in range <code>[0, itemsCount)</code>.
+   */
+  long nextItem(long itemsCount);
+}
@@ -1,9 +1,13 @@
 package com.orientechnologies.pokec.common;
 
 public class KeyGenerator {
-  public static String generateKey(ZipfianGenerator generator, int keyCount) {
-    long ret = generator.nextLong();
-    long keyVal = FNVHash.FNVhash64(ret % keyCount);
+  public static String generateKey(KeyDistribution distribution, long keyCount) {
+    long ret = distribution.nextItem(keyCount);
+    return generateKey(ret);
+  }
+
+  public static String generateKey(long item) {
+    long keyVal = FNVHash.FNVhash64(item);
     final String key = "key" + keyVal;
     return key;
   }
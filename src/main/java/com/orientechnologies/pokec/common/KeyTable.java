@@ -0,0 +1,35 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.Arrays;
+
+/**
+ * Keys of profiles which are generated once at the start of workload, so workload threads do not compute hash and build new
+ * string of the key on each operation. Keys of profiles which are not covered by the table, for example ones inserted by the
+ * workload itself, are generated on demand.
+ */
+public final class KeyTable {
+  private final String[] keys;
+
+  /**
+   * @param itemsCount Amount of the first profiles which keys are generated, if it is 0 all keys are generated on demand.
+   */
+  public KeyTable(int itemsCount) {
+    this.keys = new String[itemsCount];
+    Arrays.parallelSetAll(keys, KeyGenerator::generateKey);
+  }
+
+  /**
+   * @return Key of profile with given index.
+   */
+  public String getKey(long item) {
+    if (item < keys.length) {
+      return keys[(int) item];
+    }
+
+    return KeyGenerator.generateKey(item);
+  }
+
+  public int size() {
+    return keys.length;
+  }
+}
@@ -0,0 +1,39 @@
+package com.orientechnologies.pokec.common;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory of HDR histograms which are used to gather latencies of operations. All latencies are recorded in nanoseconds with
+ * resolution of one microsecond, values which exceed {@link #HIGHEST_TRACKABLE_LATENCY} are recorded as that value.
+ * <p>
+ * Recording into {@link SingleWriterRecorder} does not allocate memory, so it is safe to use it on the hot path of a workload,
+ * as long as every recorder is written by a single thread.
+ */
+public class LatencyHistograms {
+  public static final long LOWEST_DISCERNIBLE_LATENCY = TimeUnit.MICROSECONDS.toNanos(1);
+  public static final long HIGHEST_TRACKABLE_LATENCY  = TimeUnit.HOURS.toNanos(1);
+  public static final int  SIGNIFICANT_DIGITS         = 3;
+
+  public static SingleWriterRecorder newRecorder() {
+    return new SingleWriterRecorder(LOWEST_DISCERNIBLE_LATENCY, HIGHEST_TRACKABLE_LATENCY, SIGNIFICANT_DIGITS);
+  }
+
+  public static Histogram newHistogram() {
+    return new Histogram(LOWEST_DISCERNIBLE_LATENCY, HIGHEST_TRACKABLE_LATENCY, SIGNIFICANT_DIGITS);
+  }
+
+  public static void record(SingleWriterRecorder recorder, long latency) {
+    recorder.recordValue(Math.min(latency, HIGHEST_TRACKABLE_LATENCY));
+  }
+
+  public static long percentileInMks(Histogram histogram, double percentile) {
+    return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(percentile));
+  }
+
+  public static long maxInMks(Histogram histogram) {
+    return TimeUnit.NANOSECONDS.toMicros(histogram.getMaxValue());
+  }
+}
@@ -0,0 +1,18 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Zipfian distribution where the most recently inserted profiles are the most popular ones. Popularity of profiles moves with
+ * the amount of profiles known to the workload.
+ */
+public final class LatestKeyDistribution implements KeyDistribution {
+  private final GrowingZipfianGenerator generator;
+
+  public LatestKeyDistribution(long itemsCount, double zipfianConstant) {
+    this.generator = new GrowingZipfianGenerator(itemsCount, zipfianConstant);
+  }
+
+  @Override
+  public long nextItem(long itemsCount) {
+    return itemsCount - 1 - generator.nextLong(itemsCount) % itemsCount;
+  }
+}
@@ -0,0 +1,21 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Way in which workloads find profile by its key.
+ */
+public enum LookupMode {
+  /**
+   * SQL query which selects profile by key, query is parsed and planned on each lookup.
+   */
+  SQL,
+
+  /**
+   * Direct lookup of RID of profile in the index of keys of profiles, SQL layer is bypassed.
+   */
+  INDEX,
+
+  /**
+   * RID of profile is found in the index only once and then it is cached, subsequent lookups load profile directly by RID.
+   */
+  RID
+}
@@ -0,0 +1,103 @@
+package com.orientechnologies.pokec.common;
+
+import javax.management.JMException;
+import javax.management.JMRuntimeException;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Profiles measured phase of workload or load. If enabled, JFR recording is started at the start of the phase through
+ * <code>DiagnosticCommand</code> MBean and is dumped into <code>&lt;report name&gt;.jfr</code> file at the end of the phase,
+ * so recording does not include load of data or warm up. Optionally threads are sampled periodically by {@link ThreadSampler}.
+ * Profiler may be started several times, but only one phase can be profiled at the same time.
+ */
+public final class PhaseProfiler {
+  private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+  private static final String RECORDING_NAME     = "pokec";
+
+  private final boolean jfr;
+  private final String  jfrSettings;
+  private final long    threadSampleInterval;
+
+  private String        recordingName;
+  private String        recordingFile;
+  private ThreadSampler threadSampler;
+
+  /**
+   * @param jfr                  Whether JFR recording should be done.
+   * @param jfrSettings          Name of JFR settings like <code>default</code> or <code>profile</code> or path to the
+   *                             <code>.jfc</code> file.
+   * @param threadSampleInterval Interval of sampling of threads in milliseconds, 0 if threads should not be sampled.
+   */
+  public PhaseProfiler(boolean jfr, String jfrSettings, long threadSampleInterval) {
+    this.jfr = jfr;
+    this.jfrSettings = jfrSettings;
+    this.threadSampleInterval = threadSampleInterval;
+  }
+
+  /**
+   * Starts profiling of the phase.
+   *
+   * @param reportName Name of CSV report of the phase without extension, files of profiler are named after it.
+   */
+  public void start(String reportName) {
+    if (jfr) {
+      recordingName = RECORDING_NAME;
+      recordingFile = new File(reportName + ".jfr").getAbsolutePath();
+
+      try {
+        executeDiagnosticCommand("jfrStart", "name=" + recordingName, "settings=" + quote(jfrSettings));
+        System.out.printf("JFR recording with %s settings is started\n", jfrSettings);
+      } catch (JMException | JMRuntimeException e) {
+        System.err.printf("Can not start JFR recording, phase will not be recorded: %s\n", e.getMessage());
+        recordingName = null;
+      }
+    }
+
+    if (threadSampleInterval > 0) {
+      try {
+        threadSampler = new ThreadSampler(new File(reportName + " threads.txt"), threadSampleInterval);
+        threadSampler.start();
+        System.out.printf("Threads are sampled every %d ms\n", threadSampleInterval);
+      } catch (IOException e) {
+        System.err.printf("Can not start sampling of threads: %s\n", e.getMessage());
+        threadSampler = null;
+      }
+    }
+  }
+
+  /**
+   * Stops profiling of the phase, dumps JFR recording and prints summary of contention of locks.
+   */
+  public void stop() {
+    if (recordingName != null) {
+      try {
+        executeDiagnosticCommand("jfrStop", "name=" + recordingName, "filename=" + quote(recordingFile));
+        System.out.printf("JFR recording is written into %s\n", recordingFile);
+      } catch (JMException | JMRuntimeException e) {
+        System.err.printf("Can not write JFR recording into %s: %s\n", recordingFile, e.getMessage());
+      }
+
+      recordingName = null;
+    }
+
+    if (threadSampler != null) {
+      threadSampler.stop();
+      threadSampler = null;
+    }
+  }
+
+  /**
+   * Arguments of diagnostic commands are split by spaces, while names of reports contain date and CSV suffix.
+   */
+  private static String quote(String value) {
+    return '"' + value + '"';
+  }
+
+  private static void executeDiagnosticCommand(String command, String... arguments) throws JMException {
+    ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName(DIAGNOSTIC_COMMAND), command, new Object[] { arguments },
+        new String[] { String[].class.getName() });
+  }
+}
@@ -0,0 +1,66 @@
+package com.orientechnologies.pokec.common;
+
+import com.orientechnologies.orient.core.OConstants;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Builds, writes and reads JSON results of workloads. Results are represented as documents of OrientDB, so they are serialized
+ * without any additional libraries.
+ */
+public final class ResultDocuments {
+  private ResultDocuments() {
+  }
+
+  /**
+   * @return Document which contains all options passed to the benchmark in command line.
+   */
+  public static ODocument configuration(CommandLine cmd) {
+    final ODocument configuration = new ODocument();
+    for (Option option : cmd.getOptions()) {
+      configuration.field(option.getOpt(), option.getValue());
+    }
+
+    return configuration;
+  }
+
+  /**
+   * @return Document which describes JVM, hardware and version of OrientDB used by the benchmark.
+   */
+  public static ODocument environment() {
+    final ODocument environment = new ODocument();
+    environment.field("orientdbVersion", OConstants.getVersion());
+    environment.field("jvmName", System.getProperty("java.vm.name"));
+    environment.field("jvmVendor", System.getProperty("java.vm.vendor"));
+    environment.field("jvmVersion", System.getProperty("java.version"));
+    environment.field("jvmArguments", ManagementFactory.getRuntimeMXBean().getInputArguments());
+    environment.field("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+    environment.field("arch", System.getProperty("os.arch"));
+    environment.field("cores", Runtime.getRuntime().availableProcessors());
+    environment.field("maxHeap", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+
+    return environment;
+  }
+
+  public static void write(ODocument document, String fileName) throws IOException {
+    try (FileWriter writer = new FileWriter(fileName)) {
+      writer.write(document.toJSON("prettyPrint"));
+    }
+  }
+
+  /**
+   * Reads JSON result of workload, embedded documents of result are read as maps.
+   */
+  public static ODocument read(String fileName) throws IOException {
+    final byte[] content = Files.readAllBytes(new File(fileName).toPath());
+    return new ODocument().fromJSON(new String(content, StandardCharsets.UTF_8));
+  }
+}
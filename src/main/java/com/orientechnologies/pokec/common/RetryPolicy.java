@@ -0,0 +1,17 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Decides whether transaction which failed because of concurrent modification of the same records should be retried and how long
+ * workload task waits before the next attempt.
+ */
+public interface RetryPolicy {
+  /**
+   * Called each time transaction fails with {@link com.orientechnologies.common.concur.ONeedRetryException}, waits before the
+   * next attempt if policy requires it.
+   *
+   * @param failedAttempts Amount of failed attempts of current operation including the last one.
+   *
+   * @return <code>true</code> if transaction should be retried, <code>false</code> if operation should be given up.
+   */
+  boolean retry(int failedAttempts);
+}
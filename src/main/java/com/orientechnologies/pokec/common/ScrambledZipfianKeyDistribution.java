@@ -0,0 +1,18 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Zipfian distribution where popular profiles are scattered across the whole order of insertion of profiles, so they are not
+ * clustered together on the same pages of the database.
+ */
+public final class ScrambledZipfianKeyDistribution implements KeyDistribution {
+  private final GrowingZipfianGenerator generator;
+
+  public ScrambledZipfianKeyDistribution(long itemsCount, double zipfianConstant) {
+    this.generator = new GrowingZipfianGenerator(itemsCount, zipfianConstant);
+  }
+
+  @Override
+  public long nextItem(long itemsCount) {
+    return Math.floorMod(FNVHash.FNVhash64(generator.nextLong(itemsCount)), itemsCount);
+  }
+}
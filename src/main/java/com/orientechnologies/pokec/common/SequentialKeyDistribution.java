@@ -0,0 +1,16 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribution where profiles are accessed one by one in the order of their insertion, after the last profile the first one is
+ * accessed again.
+ */
+public final class SequentialKeyDistribution implements KeyDistribution {
+  private final AtomicLong counter = new AtomicLong();
+
+  @Override
+  public long nextItem(long itemsCount) {
+    return counter.getAndIncrement() % itemsCount;
+  }
+}
@@ -0,0 +1,16 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Way in which workload tasks obtain sessions of database.
+ */
+public enum SessionMode {
+  /**
+   * Session is acquired from the pool before each operation and is returned back to the pool once operation is completed.
+   */
+  POOLED,
+
+  /**
+   * Each task acquires session from the pool only once and keeps it until all operations of the task are completed.
+   */
+  PINNED
+}
@@ -0,0 +1,73 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.ArrayDeque;
+
+/**
+ * Detects steady state of workload by throughput measured at fixed intervals. Steady state is reached once difference between
+ * maximum and minimum throughput of the last consecutive intervals does not exceed given fraction of their mean throughput.
+ */
+public final class SteadyStateDetector {
+  private final int    window;
+  private final double tolerance;
+  private final long   interval;
+
+  private final ArrayDeque<Long> throughputs = new ArrayDeque<>();
+
+  /**
+   * @param window    Amount of consecutive intervals throughput of which is compared.
+   * @param tolerance Maximum difference of throughput of intervals as fraction of their mean throughput.
+   * @param interval  Length of interval in milliseconds.
+   */
+  public SteadyStateDetector(int window, double tolerance, long interval) {
+    if (window < 2) {
+      throw new IllegalArgumentException("At least two intervals should be compared but window is " + window);
+    }
+    if (tolerance < 0) {
+      throw new IllegalArgumentException("Tolerance of throughput should not be negative but is " + tolerance);
+    }
+    if (interval <= 0) {
+      throw new IllegalArgumentException("Interval of measurement of throughput should be positive but is " + interval);
+    }
+
+    this.window = window;
+    this.tolerance = tolerance;
+    this.interval = interval;
+  }
+
+  public long getInterval() {
+    return interval;
+  }
+
+  /**
+   * Adds throughput of the next interval.
+   *
+   * @return <code>true</code> if steady state is reached.
+   */
+  public boolean addInterval(long throughput) {
+    throughputs.addLast(throughput);
+    if (throughputs.size() > window) {
+      throughputs.removeFirst();
+    }
+
+    if (throughputs.size() < window) {
+      return false;
+    }
+
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    long sum = 0;
+    for (long intervalThroughput : throughputs) {
+      min = Math.min(min, intervalThroughput);
+      max = Math.max(max, intervalThroughput);
+      sum += intervalThroughput;
+    }
+
+    return sum > 0 && max - min <= tolerance * sum / window;
+  }
+
+  @Override
+  public String toString() {
+    return String
+        .format("throughput of %d consecutive intervals of %d ms within %.1f%% of their mean", window, interval, tolerance * 100);
+  }
+}
@@ -0,0 +1,122 @@
+package com.orientechnologies.pokec.common;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Periodically takes dumps of all threads and writes them into the file. Threads which are blocked on monitor or wait for lock
+ * owned by other thread are aggregated by the lock and by the top frame of the waiting thread outside of JDK classes, the most
+ * frequent ones are printed once sampling is stopped.
+ */
+final class ThreadSampler {
+  private static final int TOP_CONTENTIONS = 10;
+
+  private final File        file;
+  private final long        interval;
+  private final PrintWriter writer;
+
+  private final ThreadMXBean         threadMXBean = ManagementFactory.getThreadMXBean();
+  private final Map<String, Integer> contentions  = new HashMap<>();
+
+  private Timer timer;
+  private int   samples;
+
+  /**
+   * @param interval Interval of sampling in milliseconds.
+   */
+  ThreadSampler(File file, long interval) throws IOException {
+    this.file = file;
+    this.interval = interval;
+    this.writer = new PrintWriter(new FileWriter(file));
+  }
+
+  void start() {
+    timer = new Timer("Thread sampler", true);
+    timer.scheduleAtFixedRate(new TimerTask() {
+      @Override
+      public void run() {
+        sample();
+      }
+    }, 0, interval);
+  }
+
+  void stop() {
+    timer.cancel();
+
+    synchronized (this) {
+      writer.close();
+      printContentions();
+    }
+  }
+
+  private synchronized void sample() {
+    final ThreadInfo[] threadInfos = threadMXBean
+        .dumpAllThreads(threadMXBean.isObjectMonitorUsageSupported(), threadMXBean.isSynchronizerUsageSupported());
+
+    samples++;
+    writer.printf("Sample %d at %tc\n", samples, new Date());
+
+    final long currentThreadId = Thread.currentThread().getId();
+    for (ThreadInfo threadInfo : threadInfos) {
+      if (threadInfo == null || threadInfo.getThreadId() == currentThreadId) {
+        continue;
+      }
+
+      writer.print(threadInfo);
+
+      final LockInfo lockInfo = threadInfo.getLockInfo();
+      if (lockInfo != null && threadInfo.getLockOwnerId() != -1) {
+        contentions.merge(threadInfo.getThreadState() + " on " + lockInfo.getClassName() + " at " + getTopFrame(threadInfo), 1,
+            Integer::sum);
+      }
+    }
+
+    writer.println();
+  }
+
+  /**
+   * @return Top frame of the stack trace outside of JDK classes, frames of JDK show only the way in which thread waits for the
+   * lock.
+   */
+  private static String getTopFrame(ThreadInfo threadInfo) {
+    final StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+    for (StackTraceElement frame : stackTrace) {
+      final String className = frame.getClassName();
+      if (!className.startsWith("java.") && !className.startsWith("sun.") && !className.startsWith("jdk.")) {
+        return frame.toString();
+      }
+    }
+
+    return stackTrace.length > 0 ? stackTrace[0].toString() : "unknown frame";
+  }
+
+  private void printContentions() {
+    System.out.printf("%d samples of threads are written into %s\n", samples, file);
+    if (contentions.isEmpty()) {
+      System.out.println("Contention of locks was not detected");
+      return;
+    }
+
+    final List<Map.Entry<String, Integer>> entries = new ArrayList<>(contentions.entrySet());
+    entries.sort((first, second) -> Integer.compare(second.getValue(), first.getValue()));
+
+    System.out.println("The most frequent contentions of locks:");
+    for (int i = 0; i < Math.min(TOP_CONTENTIONS, entries.size()); i++) {
+      final Map.Entry<String, Integer> entry = entries.get(i);
+      System.out.printf("\t%d thread samples %s\n", entry.getValue(), entry.getKey());
+    }
+  }
+}
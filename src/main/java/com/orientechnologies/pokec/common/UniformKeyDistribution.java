@@ -0,0 +1,13 @@
+package com.orientechnologies.pokec.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution where all profiles are accessed with the same probability.
+ */
+public final class UniformKeyDistribution implements KeyDistribution {
+  @Override
+  public long nextItem(long itemsCount) {
+    return ThreadLocalRandom.current().nextLong(itemsCount);
+  }
+}
@@ -0,0 +1,81 @@
+package com.orientechnologies.pokec.common;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of zeta constants of Zipfian distribution. Computation of zeta for hundreds of millions of items takes noticeable time even
+ * if it is done in parallel, so computed values are stored in the properties file keyed by amount of items and zipfian constant and
+ * are reused by subsequent runs of workloads. Location of the file may be changed by <code>pokec.zetaCache</code> system property.
+ */
+public final class ZetaCache {
+  private static final String CACHE_FILE_PROPERTY = "pokec.zetaCache";
+  private static final String DEFAULT_CACHE_FILE  = "./build/zeta-cache.properties";
+
+  private static final ConcurrentHashMap<String, Double> cache = new ConcurrentHashMap<>();
+
+  private ZetaCache() {
+  }
+
+  /**
+   * @return Zeta constant for given amount of items and zipfian constant.
+   */
+  public static double zeta(long items, double theta) {
+    final String key = items + "_" + theta;
+    return cache.computeIfAbsent(key, k -> loadOrCompute(k, items, theta));
+  }
+
+  private static synchronized double loadOrCompute(String key, long items, double theta) {
+    final File cacheFile = new File(System.getProperty(CACHE_FILE_PROPERTY, DEFAULT_CACHE_FILE));
+    final Properties properties = new Properties();
+
+    try {
+      if (cacheFile.exists()) {
+        try (InputStream inputStream = new FileInputStream(cacheFile)) {
+          properties.load(inputStream);
+        }
+
+        final String value = properties.getProperty(key);
+        if (value != null) {
+          return Double.parseDouble(value);
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      System.err.printf("Can not read cache of zeta constants from %s, zeta will be computed\n", cacheFile);
+    }
+
+    final long start = System.nanoTime();
+    final double zeta = ZipfianGenerator.zetastatic(items, theta);
+    final long end = System.nanoTime();
+
+    System.out.printf("Zeta constant for %d items and zipfian constant %s is computed in %d ms\n", items, theta,
+        (end - start) / 1_000_000);
+
+    properties.setProperty(key, Double.toString(zeta));
+    try {
+      final File parent = cacheFile.getAbsoluteFile().getParentFile();
+      if (parent != null && !parent.exists() && !parent.mkdirs()) {
+        throw new IOException("Can not create directory " + parent);
+      }
+
+      final File tmpFile = new File(cacheFile.getPath() + ".tmp");
+      try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
+        properties.store(outputStream, "Zeta constants of Zipfian distribution, key is <items>_<zipfian constant>");
+      }
+
+      Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      System.err.printf("Can not store cache of zeta constants into %s\n", cacheFile);
+    }
+
+    return zeta;
+  }
+}
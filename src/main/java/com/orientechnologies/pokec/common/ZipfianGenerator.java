@@ -1,20 +1,20 @@
 package com.orientechnologies.pokec.common;
 
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
 
 /**
  * A generator of a zipfian distribution. It produces a sequence of items, such that some items are more popular than others, according
  * to a zipfian distribution. When you construct an instance of this class, you specify the number of items in the set to draw from, either
  * by specifying an itemcount (so that the sequence is of items from 0 to itemcount-1) or by specifying a min and a max (so that the sequence is of
- * items from min to max inclusive). After you construct the instance, you can change the number of items by calling nextInt(itemcount) or nextLong(itemcount).
+ * items from min to max inclusive). Generator is immutable, to change the number of items call {@link #resize(long)} which returns a new generator.
  * Note that the popular items will be clustered together, e.g. item 0 is the most popular, item 1 the second most popular, and so on (or min is the most
  * popular, min+1 the next most popular, etc.) If you don't want this clustering, and instead want the popular items scattered throughout the
  * item space, then use ScrambledZipfianGenerator instead.
- * Be aware: initializing this generator may take a long time if there are lots of items to choose from (e.g. over a minute
- * for 100 million objects). This is because certain mathematical values need to be computed to properly generate a zipfian skew, and one of those
- * values (zeta) is a sum sequence from 1 to n, where n is the itemcount. Note that if you increase the number of items in the set, we can compute
- * a new zeta incrementally, so it should be fast unless you have added millions of items. However, if you decrease the number of items, we recompute
- * zeta from scratch, so this can take a long time.
+ * Generator does not have mutable state, so it can be shared between threads without any synchronization.
+ * Initialization of this generator requires computation of zeta constant which is a sum sequence from 1 to n, where n is the itemcount.
+ * Zeta is computed in parallel and cached by {@link ZetaCache} both in memory and on disk, so it is computed only once for each
+ * pair of itemcount and zipfian constant.
  * The algorithm used here is from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994.
  */
 public class ZipfianGenerator {
@@ -23,37 +23,22 @@ public class ZipfianGenerator {
   /**
    * Number of items.
    */
-  long items;
+  private final long items;
 
   /**
    * Min item to generate.
    */
-  long base;
+  private final long base;
 
   /**
    * The zipfian constant to use.
    */
-  double zipfianconstant;
+  private final double theta;
 
   /**
    * Computed parameters for generating the distribution.
    */
-  double alpha, zetan, eta, theta, zeta2theta;
-
-  /**
-   * The number of items used to compute zetan the last time.
-   */
-  long countforzeta;
-
-  /**
-   * Flag to prevent problems. If you increase the number of items the zipfian generator is allowed to choose from, this code will incrementally compute a new zeta
-   * value for the larger itemcount. However, if you decrease the number of items, the code computes zeta from scratch; this is expensive for large itemsets.
-   * Usually this is not intentional; e.g. one thread thinks the number of items is 1001 and calls "nextLong()" with that item count; then another thread who thinks the
-   * number of items is 1000 calls nextLong() with itemcount=1000 triggering the expensive recomputation. (It is expensive for 100 million items, not really for 1000 items.) Why
-   * did the second thread think there were only 1000 items? maybe it read the item count before the first thread incremented it. So this flag allows you to say if you really do
-   * want that recomputation. If true, then the code will recompute zeta if the itemcount goes down. If false, the code will assume itemcount only goes up, and never recompute.
-   */
-  boolean allowitemcountdecrease = false;
+  private final double alpha, zetan, eta, zeta2theta;
 
   /******************************* Constructors **************************************/
 
@@ -94,7 +79,7 @@ public class ZipfianGenerator {
    * @param _zipfianconstant The zipfian constant to use.
    */
   public ZipfianGenerator(long min, long max, double _zipfianconstant) {
-    this(min, max, _zipfianconstant, zetastatic(max - min + 1, _zipfianconstant));
+    this(min, max, _zipfianconstant, ZetaCache.zeta(max - min + 1, _zipfianconstant));
   }
 
   /**
@@ -106,67 +91,55 @@ public class ZipfianGenerator {
    * @param _zetan           The precomputed zeta constant.
    */
   public ZipfianGenerator(long min, long max, double _zipfianconstant, double _zetan) {
+    if (_zipfianconstant <= 0 || _zipfianconstant >= 1) {
+      throw new IllegalArgumentException("Zipfian constant should be in range (0, 1) but is " + _zipfianconstant);
+    }
 
     items = max - min + 1;
     base = min;
-    zipfianconstant = _zipfianconstant;
-
-    theta = zipfianconstant;
+    theta = _zipfianconstant;
 
-    zeta2theta = zeta(2, theta);
+    zeta2theta = zetastatic(0, 2, theta, 0);
 
     alpha = 1.0 / (1.0 - theta);
     zetan = _zetan;
-    countforzeta = items;
     eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-
-    nextInt();
   }
 
   /**************************************************************************/
 
   /**
-   * Compute the zeta constant needed for the distribution. Do this from scratch for a distribution with n items, using the
-   * zipfian constant theta. Remember the value of n, so if we change the itemcount, we can recompute zeta.
+   * Creates generator for the changed number of items with the same min item and zipfian constant. If the number of items grows,
+   * zeta is computed incrementally from the zeta of this generator, otherwise it is taken from {@link ZetaCache}.
    *
-   * @param n     The number of items to compute zeta over.
-   * @param theta The zipfian constant.
+   * @param itemcount The number of items in the new distribution.
    */
-  double zeta(long n, double theta) {
-    countforzeta = n;
-    return zetastatic(n, theta);
+  public ZipfianGenerator resize(long itemcount) {
+    if (itemcount == items) {
+      return this;
+    }
+
+    if (itemcount > items) {
+      return new ZipfianGenerator(base, base + itemcount - 1, theta, zetastatic(items, itemcount, theta, zetan));
+    }
+
+    return new ZipfianGenerator(base, base + itemcount - 1, theta);
   }
 
   /**
    * Compute the zeta constant needed for the distribution. Do this from scratch for a distribution with n items, using the
-   * zipfian constant theta. This is a static version of the function which will not remember n.
+   * zipfian constant theta. Items are summed in parallel.
    *
    * @param n     The number of items to compute zeta over.
    * @param theta The zipfian constant.
    */
   static double zetastatic(long n, double theta) {
-    return zetastatic(0, n, theta, 0);
+    return LongStream.range(0, n).parallel().mapToDouble(i -> 1 / Math.pow(i + 1, theta)).sum();
   }
 
   /**
    * Compute the zeta constant needed for the distribution. Do this incrementally for a distribution that
-   * has n items now but used to have st items. Use the zipfian constant theta. Remember the new value of
-   * n so that if we change the itemcount, we'll know to recompute zeta.
-   *
-   * @param st         The number of items used to compute the last initialsum
-   * @param n          The number of items to compute zeta over.
-   * @param theta      The zipfian constant.
-   * @param initialsum The value of zeta we are computing incrementally from.
-   */
-  double zeta(long st, long n, double theta, double initialsum) {
-    countforzeta = n;
-    return zetastatic(st, n, theta, initialsum);
-  }
-
-  /**
-   * Compute the zeta constant needed for the distribution. Do this incrementally for a distribution that
-   * has n items now but used to have st items. Use the zipfian constant theta. Remember the new value of
-   * n so that if we change the itemcount, we'll know to recompute zeta.
+   * has n items now but used to have st items. Use the zipfian constant theta.
    *
    * @param st         The number of items used to compute the last initialsum
    * @param n          The number of items to compute zeta over.
@@ -180,56 +153,36 @@ public class ZipfianGenerator {
       sum += 1 / (Math.pow(i + 1, theta));
     }
 
-    //System.out.println("countforzeta="+countforzeta);
-
     return sum;
   }
 
   /****************************************************************************************/
 
+  public long getItems() {
+    return items;
+  }
+
+  public double getTheta() {
+    return theta;
+  }
+
   /**
-   * Generate the next item. this distribution will be skewed toward lower integers; e.g. 0 will
-   * be the most popular, 1 the next most popular, etc.
-   *
-   * @param itemcount The number of items in the distribution.
-   *
-   * @return The next item in the sequence.
+   * Return the next value, skewed by the Zipfian distribution. The 0th item will be the most popular, followed by the 1st, followed
+   * by the 2nd, etc. (Or, if min != 0, the min-th item is the most popular, the min+1th item the next most popular, etc.) If you want the
+   * popular items scattered throughout the item space, use ScrambledZipfianGenerator instead.
    */
-  public int nextInt(int itemcount) {
-    return (int) nextLong(itemcount);
+  public int nextInt() {
+    return (int) nextLong();
   }
 
   /**
-   * Generate the next item as a long.
-   *
-   * @param itemcount The number of items in the distribution.
-   *
-   * @return The next item in the sequence.
+   * Return the next value, skewed by the Zipfian distribution. The 0th item will be the most popular, followed by the 1st, followed
+   * by the 2nd, etc. (Or, if min != 0, the min-th item is the most popular, the min+1th item the next most popular, etc.) If you want the
+   * popular items scattered throughout the item space, use ScrambledZipfianGenerator instead.
    */
-  public long nextLong(long itemcount) {
+  public long nextLong() {
     //from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994
 
-    if (itemcount != countforzeta) {
-
-      //have to recompute zetan and eta, since they depend on itemcount
-      synchronized (this) {
-        if (itemcount > countforzeta) {
-          //we have added more items. can compute zetan incrementally, which is cheaper
-          zetan = zeta(countforzeta, itemcount, theta, zetan);
-          eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-        } else if ((itemcount < countforzeta) && (allowitemcountdecrease)) {
-          //have to start over with zetan
-          //note : for large itemsets, this is very slow. so don't do it!
-
-          System.err.println("WARNING: Recomputing Zipfian distribtion. This is slow and should be avoided. (itemcount=" + itemcount
-              + " countforzeta=" + countforzeta + ")");
-
-          zetan = zeta(itemcount, theta);
-          eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-        }
-      }
-    }
-
     double u = ThreadLocalRandom.current().nextDouble();
     double uz = u * zetan;
 
@@ -241,25 +194,7 @@ public class ZipfianGenerator {
       return base + 1;
     }
 
-    return base + (long) ((itemcount) * Math.pow(eta * u - eta + 1, alpha));
-  }
-
-  /**
-   * Return the next value, skewed by the Zipfian distribution. The 0th item will be the most popular, followed by the 1st, followed
-   * by the 2nd, etc. (Or, if min != 0, the min-th item is the most popular, the min+1th item the next most popular, etc.) If you want the
-   * popular items scattered throughout the item space, use ScrambledZipfianGenerator instead.
-   */
-  public int nextInt() {
-    return (int) nextLong(items);
-  }
-
-  /**
-   * Return the next value, skewed by the Zipfian distribution. The 0th item will be the most popular, followed by the 1st, followed
-   * by the 2nd, etc. (Or, if min != 0, the min-th item is the most popular, the min+1th item the next most popular, etc.) If you want the
-   * popular items scattered throughout the item space, use ScrambledZipfianGenerator instead.
-   */
-  public long nextLong() {
-    return nextLong(items);
+    return base + (long) ((items) * Math.pow(eta * u - eta + 1, alpha));
   }
 
 }
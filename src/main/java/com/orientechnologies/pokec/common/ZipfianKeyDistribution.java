@@ -0,0 +1,17 @@
+package com.orientechnologies.pokec.common;
+
+/**
+ * Zipfian distribution where the first inserted profiles are the most popular ones.
+ */
+public final class ZipfianKeyDistribution implements KeyDistribution {
+  private final GrowingZipfianGenerator generator;
+
+  public ZipfianKeyDistribution(long itemsCount, double zipfianConstant) {
+    this.generator = new GrowingZipfianGenerator(itemsCount, zipfianConstant);
+  }
+
+  @Override
+  public long nextItem(long itemsCount) {
+    return generator.nextLong(itemsCount) % itemsCount;
+  }
+}
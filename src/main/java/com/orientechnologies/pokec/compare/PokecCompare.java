@@ -0,0 +1,147 @@
+package com.orientechnologies.pokec.compare;
+
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.math3.stat.inference.TTest;
+
+import java.util.List;
+
+/**
+ * Compares JSON results of workloads with the first one which is treated as the baseline. Differences of throughput and
+ * percentiles of latency of the whole phase are printed together with p-value of Welch's t-test performed on statistics of
+ * intervals of both runs. Process exits with non zero status if throughput of any result is significantly lower than throughput of
+ * the baseline by more than the regression threshold, so comparison can be used as a gate in CI pipeline.
+ */
+public class PokecCompare {
+  private static final String[] METRICS      = { "throughput", "p50", "p90", "p99", "p999", "max" };
+  private static final String[] METRIC_NAMES = { "throughput op/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us" };
+
+  public static void main(String[] args) throws Exception {
+    Options options = CommandLineUtils.generateCommandLineOptions();
+
+    CommandLineParser parser = new DefaultParser();
+    try {
+      CommandLine cmd = parser.parse(options, args);
+
+      final List<String> resultFiles = CommandLineUtils.getResultFiles(cmd);
+      if (resultFiles.size() < 2) {
+        throw new IllegalArgumentException("At least two results should be passed for comparison");
+      }
+
+      final double significanceLevel = CommandLineUtils.getSignificanceLevel(cmd);
+      final double regressionThreshold = CommandLineUtils.getRegressionThreshold(cmd);
+
+      final RunResult baseline = RunResult.read(resultFiles.get(0));
+      printResult("Baseline", baseline);
+
+      boolean regression = false;
+      for (int i = 1; i < resultFiles.size(); i++) {
+        final RunResult result = RunResult.read(resultFiles.get(i));
+        System.out.println();
+        printResult("Compared with", result);
+
+        regression |= compare(baseline, result, significanceLevel, regressionThreshold);
+      }
+
+      if (regression) {
+        System.out.printf("\nThroughput regression of more than %.1f%% is detected\n", regressionThreshold);
+        System.exit(1);
+      }
+    } catch (ParseException pe) {
+      System.out.println(pe.getMessage());
+    }
+  }
+
+  private static void printResult(String title, RunResult result) {
+    System.out.printf("%s %s : %s, OrientDB %s, %s threads, %s sessions, %s %s, %d cores\n", title, result.getFileName(),
+        result.getWorkload(), result.getEnvironment("orientdbVersion"), result.getSetting("numThreads"),
+        result.getSetting("sessionMode"), result.getEnvironment("jvmName"), result.getEnvironment("jvmVersion"),
+        ((Number) result.getEnvironment("cores")).intValue());
+  }
+
+  /**
+   * Prints differences of statistics of the whole phase, statistics of intervals are used as samples of Welch's t-test.
+   *
+   * @return <code>true</code> if throughput of the result is significantly lower than throughput of the baseline by more than the
+   * regression threshold.
+   */
+  private static boolean compare(RunResult baseline, RunResult result, double significanceLevel, double regressionThreshold) {
+    if (!baseline.getWorkload().equals(result.getWorkload())) {
+      System.out.printf("Warning: results of different workloads %s and %s are compared\n", baseline.getWorkload(),
+          result.getWorkload());
+    }
+
+    System.out.printf("%-20s %12s %12s %10s %10s\n", "metric", "baseline", "result", "delta", "p-value");
+
+    boolean regression = false;
+    for (int i = 0; i < METRICS.length; i++) {
+      final long baselineValue = baseline.getTotal(METRICS[i]);
+      final long value = result.getTotal(METRICS[i]);
+      final double delta = delta(baselineValue, value);
+      final double pValue = pValue(baseline.getIntervalValues(METRICS[i]), result.getIntervalValues(METRICS[i]));
+
+      final boolean significant = !Double.isNaN(pValue) && pValue < significanceLevel;
+      System.out.printf("%-20s %12d %12d %+9.1f%% %10s%s\n", METRIC_NAMES[i], baselineValue, value, delta, formatPValue(pValue),
+          significant ? " significant" : "");
+
+      if (i == 0) {
+        if (Double.isNaN(pValue)) {
+          System.out.println("Warning: at least two intervals in each result are needed to check significance of difference");
+        }
+
+        regression = significant && delta < -regressionThreshold;
+      }
+    }
+
+    for (String histogram : baseline.getTotalHistograms().keySet()) {
+      if (!result.getTotalHistograms().containsKey(histogram)) {
+        continue;
+      }
+
+      final long baselineThroughput = baseline.getTotalHistogram(histogram, "throughput");
+      final long throughput = result.getTotalHistogram(histogram, "throughput");
+      final long baselineP99 = baseline.getTotalHistogram(histogram, "p99");
+      final long p99 = result.getTotalHistogram(histogram, "p99");
+
+      System.out.printf("%-20s %12d %12d %+9.1f%%\n", histogram + " op/s", baselineThroughput, throughput,
+          delta(baselineThroughput, throughput));
+      System.out.printf("%-20s %12d %12d %+9.1f%%\n", histogram + " p99 us", baselineP99, p99, delta(baselineP99, p99));
+    }
+
+    return regression;
+  }
+
+  /**
+   * @return Difference of values in percents of the baseline value.
+   */
+  private static double delta(long baselineValue, long value) {
+    if (baselineValue == 0) {
+      return 0;
+    }
+
+    return (value - baselineValue) * 100.0 / baselineValue;
+  }
+
+  /**
+   * @return Two sided p-value of Welch's t-test or <code>NaN</code> if there are not enough samples or both samples are constant.
+   */
+  private static double pValue(double[] baselineSamples, double[] samples) {
+    if (baselineSamples.length < 2 || samples.length < 2) {
+      return Double.NaN;
+    }
+
+    return new TTest().tTest(baselineSamples, samples);
+  }
+
+  private static String formatPValue(double pValue) {
+    if (Double.isNaN(pValue)) {
+      return "n/a";
+    }
+
+    return String.format("%.4f", pValue);
+  }
+}
@@ -0,0 +1,115 @@
+package com.orientechnologies.pokec.compare;
+
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.pokec.common.ResultDocuments;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON result of single run of measured phase of workload which is read back for comparison.
+ */
+final class RunResult {
+  private final String                    fileName;
+  private final String                    workload;
+  private final Map<String, Object>       settings;
+  private final Map<String, Object>       environment;
+  private final Map<String, Object>       total;
+  private final List<Map<String, Object>> intervals;
+
+  private RunResult(String fileName, ODocument document) {
+    this.fileName = fileName;
+    this.workload = document.field("workload");
+    this.settings = asMap(document.field("settings"));
+    this.environment = asMap(document.field("environment"));
+    this.total = asMap(document.field("total"));
+
+    final List<Object> intervalDocuments = document.field("intervals");
+    if (intervalDocuments == null) {
+      this.intervals = Collections.emptyList();
+    } else {
+      this.intervals = new ArrayList<>();
+      for (Object interval : intervalDocuments) {
+        this.intervals.add(asMap(interval));
+      }
+    }
+  }
+
+  static RunResult read(String fileName) throws IOException {
+    return new RunResult(fileName, ResultDocuments.read(fileName));
+  }
+
+  String getFileName() {
+    return fileName;
+  }
+
+  String getWorkload() {
+    return workload;
+  }
+
+  Object getSetting(String name) {
+    return settings.get(name);
+  }
+
+  Object getEnvironment(String name) {
+    return environment.get(name);
+  }
+
+  /**
+   * @return Value of given statistic of the whole phase or <code>-1</code> if it is absent.
+   */
+  long getTotal(String name) {
+    return getLong(total, name);
+  }
+
+  /**
+   * @return Summaries of histograms of types of operations, lookups and retries of the whole phase by their names.
+   */
+  Map<String, Object> getTotalHistograms() {
+    return asMap(total.get("histograms"));
+  }
+
+  /**
+   * @return Value of given statistic of the whole phase for the histogram with given name or <code>-1</code> if it is absent.
+   */
+  long getTotalHistogram(String histogram, String name) {
+    return getLong(asMap(getTotalHistograms().get(histogram)), name);
+  }
+
+  /**
+   * @return Values of given statistic of each interval of the phase which are used as samples of statistical tests.
+   */
+  double[] getIntervalValues(String name) {
+    final double[] values = new double[intervals.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = getLong(intervals.get(i), name);
+    }
+
+    return values;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asMap(Object value) {
+    if (value instanceof ODocument) {
+      return ((ODocument) value).toMap();
+    }
+
+    if (value instanceof Map) {
+      return (Map<String, Object>) value;
+    }
+
+    return Collections.emptyMap();
+  }
+
+  private static long getLong(Map<String, Object> document, String name) {
+    final Object value = document.get(name);
+    if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+
+    return -1;
+  }
+}
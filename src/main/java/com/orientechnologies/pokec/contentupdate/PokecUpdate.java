@@ -1,20 +1,25 @@
 package com.orientechnologies.pokec.contentupdate;
 
-import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.pokec.PokecWorkload;
 import com.orientechnologies.pokec.PokecWorkloadTask;
-import com.orientechnologies.pokec.common.ZipfianGenerator;
-
-import java.util.concurrent.atomic.AtomicInteger;
+import com.orientechnologies.pokec.WorkloadContext;
+import org.apache.commons.cli.CommandLine;
 
 public class PokecUpdate extends PokecWorkload {
+  private UpdatePayloadPool payloadPool;
+
   public static void main(String[] args) throws Exception {
     new PokecUpdate().run(args);
   }
 
   @Override
-  public PokecWorkloadTask createTask(int iterationsCount, ODatabasePool pool, ZipfianGenerator zipfianGenerator, int itemsCount,
-      AtomicInteger iterationsCounter) {
-    return new PokecUpdater(iterationsCount, pool, zipfianGenerator, itemsCount, iterationsCounter);
+  protected void prepare(CommandLine cmd, ODatabaseSession session, long profilesCount) {
+    payloadPool = PokecUpdater.createPayloadPool(cmd, session, profilesCount);
+  }
+
+  @Override
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecUpdater(iterationsCount, context, payloadPool);
   }
 }
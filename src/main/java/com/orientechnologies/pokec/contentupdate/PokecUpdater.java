@@ -1,35 +1,54 @@
 package com.orientechnologies.pokec.contentupdate;
 
-import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.record.OVertex;
 import com.orientechnologies.pokec.PokecWorkloadTask;
-import com.orientechnologies.pokec.common.ZipfianGenerator;
-import com.orientechnologies.pokec.load.PokecLoad;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import org.apache.commons.cli.CommandLine;
 
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class PokecUpdater extends PokecWorkloadTask {
-  PokecUpdater(int iterationsCount, ODatabasePool pool, ZipfianGenerator zipfianGenerator, int itemsCount,
-      AtomicInteger iterationsCounter) {
-    super(iterationsCount, pool, zipfianGenerator, itemsCount, iterationsCounter);
+  private final UpdatePayloadPool payloadPool;
+
+  PokecUpdater(int iterationsCount, WorkloadContext context, UpdatePayloadPool payloadPool) {
+    super(iterationsCount, context);
+    this.payloadPool = payloadPool;
   }
 
   @Override
-  public void execute(ODatabaseSession session, OVertex vertex, ZipfianGenerator zipfianGenerator, int itemsCount, Random random) {
-    final int fieldsCount = random.nextInt(3) + 1;
+  public void execute(ODatabaseSession session, OVertex vertex, KeyDistribution keyDistribution, int itemsCount, Random random) {
+    updateProfile(vertex, payloadPool, random);
+  }
 
-    for (int n = 0; n < fieldsCount; n++) {
-      final int fieldIndex = random.nextInt(PokecLoad.DATA_FIELDS.length);
-      final String field = PokecLoad.DATA_FIELDS[fieldIndex];
+  /**
+   * Generates pool of values of fields which are written by updates of profiles.
+   */
+  public static UpdatePayloadPool createPayloadPool(CommandLine cmd, ODatabaseSession session, long profilesCount) {
+    final int poolSize = CommandLineUtils.getUpdatePoolSize(cmd);
+    final int minSize = CommandLineUtils.getUpdatePayloadMinSize(cmd);
+    final int maxSize = CommandLineUtils.getUpdatePayloadMaxSize(cmd);
+
+    final long startTs = System.nanoTime();
+    final UpdatePayloadPool payloadPool = UpdatePayloadPool
+        .sample(session, profilesCount, poolSize, minSize, maxSize, CommandLineUtils.getUpdateSeed(cmd));
+    final long endTs = System.nanoTime();
+
+    System.out.printf("Pool of %d update values is generated in %d ms\n", payloadPool.size(), (endTs - startTs) / 1_000_000);
+    return payloadPool;
+  }
 
-      final int fieldLen = random.nextInt(500) + 1;
-      final byte[] rawValue = new byte[fieldLen];
-      random.nextBytes(rawValue);
+  /**
+   * Sets from one to three fields of profile to values taken from the pool.
+   */
+  public static void updateProfile(OVertex vertex, UpdatePayloadPool payloadPool, Random random) {
+    final int fieldsCount = random.nextInt(3) + 1;
 
-      final String value = new String(rawValue);
-      vertex.setProperty(field, value);
+    for (int n = 0; n < fieldsCount; n++) {
+      final int entry = random.nextInt(payloadPool.size());
+      vertex.setProperty(payloadPool.getField(entry), payloadPool.getValue(entry));
     }
 
     vertex.save();
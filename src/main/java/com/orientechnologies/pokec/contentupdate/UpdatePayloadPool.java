@@ -0,0 +1,157 @@
+package com.orientechnologies.pokec.contentupdate;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.pokec.common.KeyGenerator;
+import com.orientechnologies.pokec.load.PokecLoad;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Values of fields of profiles which are written by updates. Values are generated once before the start of workload from contents
+ * of profiles sampled from the database, so updates do not spend time on generation of values and write valid text which is
+ * similar to the real data. Each entry of the pool is a pair of field and its value, only fields which are filled in sampled
+ * profiles are updated.
+ * <p>
+ * By default values keep their original sizes. If size of values is set, sampled values of the same field are concatenated or
+ * truncated to the chosen size, that allows to test growth and fragmentation of records.
+ */
+public final class UpdatePayloadPool {
+  private static final int DEFAULT_MAX_SIZE = 500;
+
+  private final int[]    fields;
+  private final String[] values;
+
+  private UpdatePayloadPool(int[] fields, String[] values) {
+    this.fields = fields;
+    this.values = values;
+  }
+
+  /**
+   * Samples profiles from the database and generates pool of values.
+   *
+   * @param profilesCount Amount of profiles in database.
+   * @param poolSize      Amount of entries in the pool, the same amount of profiles is sampled.
+   * @param minSize       Minimum size of value in characters, if both minimum and maximum sizes are 0 values keep their sizes.
+   * @param maxSize       Maximum size of value in characters.
+   * @param seed          Seed of choice of sampled profiles and sizes of values, the same seed gives the same pool on the same
+   *                      database.
+   */
+  public static UpdatePayloadPool sample(ODatabaseSession session, long profilesCount, int poolSize, int minSize, int maxSize,
+      long seed) {
+    final Random random = new Random(seed);
+
+    final List<List<String>> samples = new ArrayList<>();
+    for (int i = 0; i < PokecLoad.DATA_FIELDS.length; i++) {
+      samples.add(new ArrayList<>());
+    }
+
+    final int samplesCount = (int) Math.min(poolSize, profilesCount);
+    for (int i = 0; i < samplesCount; i++) {
+      final String key = KeyGenerator.generateKey((long) random.nextInt((int) profilesCount));
+      try (OResultSet resultSet = session.query("select from Profile where key = ?", key)) {
+        if (resultSet.hasNext()) {
+          final OResult result = resultSet.next();
+          for (int n = 0; n < PokecLoad.DATA_FIELDS.length; n++) {
+            final Object value = result.getProperty(PokecLoad.DATA_FIELDS[n]);
+            if (value instanceof String && !((String) value).isEmpty()) {
+              samples.get(n).add((String) value);
+            }
+          }
+        }
+      }
+    }
+
+    final List<Integer> sampledFields = new ArrayList<>();
+    for (int n = 0; n < PokecLoad.DATA_FIELDS.length; n++) {
+      if (!samples.get(n).isEmpty()) {
+        sampledFields.add(n);
+      }
+    }
+
+    final int[] fields = new int[poolSize];
+    final String[] values = new String[poolSize];
+    for (int i = 0; i < poolSize; i++) {
+      final int field;
+      if (sampledFields.isEmpty()) {
+        field = random.nextInt(PokecLoad.DATA_FIELDS.length);
+      } else {
+        field = sampledFields.get(random.nextInt(sampledFields.size()));
+      }
+
+      final List<String> fieldSamples = samples.get(field);
+
+      final int size;
+      if (minSize == 0 && maxSize == 0) {
+        if (!fieldSamples.isEmpty()) {
+          fields[i] = field;
+          values[i] = fieldSamples.get(random.nextInt(fieldSamples.size()));
+          continue;
+        }
+
+        size = random.nextInt(DEFAULT_MAX_SIZE) + 1;
+      } else {
+        size = minSize + random.nextInt(maxSize - minSize + 1);
+      }
+
+      fields[i] = field;
+      values[i] = generateValue(fieldSamples, size, random);
+    }
+
+    return new UpdatePayloadPool(fields, values);
+  }
+
+  /**
+   * Generates value of given size from sampled values of the field, or from random letters if there are no sampled values.
+   */
+  private static String generateValue(List<String> fieldSamples, int size, Random random) {
+    final StringBuilder builder = new StringBuilder(size + 1);
+    if (fieldSamples.isEmpty()) {
+      while (builder.length() < size) {
+        builder.append((char) ('a' + random.nextInt(26)));
+      }
+
+      return builder.toString();
+    }
+
+    while (builder.length() < size) {
+      if (builder.length() > 0) {
+        builder.append(' ');
+      }
+
+      builder.append(fieldSamples.get(random.nextInt(fieldSamples.size())));
+    }
+
+    int length = size;
+    if (length < builder.length() && Character.isHighSurrogate(builder.charAt(length - 1))) {
+      length++;
+    }
+
+    builder.setLength(length);
+    return builder.toString();
+  }
+
+  /**
+   * @return Amount of entries in the pool.
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * @return Name of field of given entry.
+   */
+  public String getField(int entry) {
+    return PokecLoad.DATA_FIELDS[fields[entry]];
+  }
+
+  /**
+   * @return Value of field of given entry.
+   */
+  public String getValue(int entry) {
+    return values[entry];
+  }
+}
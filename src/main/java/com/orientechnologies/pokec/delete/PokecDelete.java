@@ -0,0 +1,41 @@
+package com.orientechnologies.pokec.delete;
+
+import com.orientechnologies.pokec.PokecWorkload;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import com.orientechnologies.pokec.read.PokecReader;
+import org.apache.commons.cli.CommandLine;
+
+public class PokecDelete extends PokecWorkload {
+  public static void main(String[] args) throws Exception {
+    new PokecDelete().run(args);
+  }
+
+  @Override
+  protected int getOperations(CommandLine cmd, int profilesCount) {
+    return CommandLineUtils.getDeleteOperations(cmd, profilesCount);
+  }
+
+  /**
+   * Amount of deleted profiles is limited by amount of operations even if measured phase is limited by duration, otherwise all
+   * profiles may be deleted.
+   */
+  @Override
+  protected int getMaxOperations(CommandLine cmd, int profilesCount) {
+    return getOperations(cmd, profilesCount);
+  }
+
+  @Override
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecDeleter(iterationsCount, context);
+  }
+
+  /**
+   * Warm up reads profiles, deletes during warm up would shrink data set before measured phase is started.
+   */
+  @Override
+  protected PokecWorkloadTask createWarmUpTask(int iterationsCount, WorkloadContext context) {
+    return new PokecReader(iterationsCount, context);
+  }
+}
@@ -0,0 +1,63 @@
+package com.orientechnologies.pokec.delete;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.OVertex;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.ProfilesCounter;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.KeyDistribution;
+
+import java.util.Random;
+
+/**
+ * Deletes profiles together with their relations. Profiles are chosen by the same distribution as profiles of other workloads,
+ * if chosen profile is deleted by other task concurrently, other profile is chosen. If delete is given up by retry policy, no
+ * other profile is deleted instead of it.
+ */
+public class PokecDeleter extends PokecWorkloadTask {
+  private final ProfilesCounter profilesCounter;
+
+  private boolean deleted;
+
+  PokecDeleter(int iterationsCount, WorkloadContext context) {
+    super(iterationsCount, context);
+
+    this.profilesCounter = context.getProfilesCounter();
+  }
+
+  @Override
+  protected int executeIteration(ODatabaseSession session, Random random) {
+    while (true) {
+      final OVertex vertex = loadRandomProfile(session);
+      if (!executeInTransaction(session, vertex, random)) {
+        return 0;
+      }
+
+      if (deleted) {
+        profilesCounter.deleted();
+        return 0;
+      }
+    }
+  }
+
+  @Override
+  public void execute(ODatabaseSession session, OVertex vertex, KeyDistribution keyDistribution, int itemsCount, Random random) {
+    deleted = deleteProfile(session, vertex);
+  }
+
+  /**
+   * Deletes profile and all its edges.
+   *
+   * @return <code>false</code> if profile was already deleted.
+   */
+  public static boolean deleteProfile(ODatabaseSession session, OVertex vertex) {
+    final ORID rid = vertex.getIdentity();
+    if (session.load(rid) == null) {
+      return false;
+    }
+
+    session.delete(rid);
+    return true;
+  }
+}
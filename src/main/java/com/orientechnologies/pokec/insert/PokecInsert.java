@@ -0,0 +1,27 @@
+package com.orientechnologies.pokec.insert;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.pokec.PokecWorkload;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.contentupdate.PokecUpdater;
+import com.orientechnologies.pokec.contentupdate.UpdatePayloadPool;
+import org.apache.commons.cli.CommandLine;
+
+public class PokecInsert extends PokecWorkload {
+  private UpdatePayloadPool payloadPool;
+
+  public static void main(String[] args) throws Exception {
+    new PokecInsert().run(args);
+  }
+
+  @Override
+  protected void prepare(CommandLine cmd, ODatabaseSession session, long profilesCount) {
+    payloadPool = PokecUpdater.createPayloadPool(cmd, session, profilesCount);
+  }
+
+  @Override
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecInserter(iterationsCount, context, payloadPool);
+  }
+}
@@ -0,0 +1,70 @@
+package com.orientechnologies.pokec.insert;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.record.OVertex;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.ProfilesCounter;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import com.orientechnologies.pokec.contentupdate.PokecUpdater;
+import com.orientechnologies.pokec.contentupdate.UpdatePayloadPool;
+import com.orientechnologies.pokec.load.PokecLoad;
+
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Inserts new profiles with keys which follow the last existing profile. Inserted profiles become available to other workload
+ * tasks once they are committed.
+ */
+public class PokecInserter extends PokecWorkloadTask {
+  private final ProfilesCounter   profilesCounter;
+  private final UpdatePayloadPool payloadPool;
+
+  private long profileIndex;
+
+  PokecInserter(int iterationsCount, WorkloadContext context, UpdatePayloadPool payloadPool) {
+    super(iterationsCount, context);
+
+    this.profilesCounter = context.getProfilesCounter();
+    this.payloadPool = payloadPool;
+  }
+
+  @Override
+  protected int executeIteration(ODatabaseSession session, Random random) {
+    profileIndex = profilesCounter.nextIndex();
+    if (executeInTransaction(session, null, random)) {
+      profilesCounter.committed(profileIndex);
+    } else {
+      profilesCounter.failed(profileIndex);
+    }
+
+    return 0;
+  }
+
+  @Override
+  public void execute(ODatabaseSession session, OVertex vertex, KeyDistribution keyDistribution, int itemsCount, Random random) {
+    insertProfile(session, profileIndex, getKey(profileIndex), payloadPool, random);
+  }
+
+  /**
+   * Inserts new profile. Key of the profile is generated in the same way as during initial load, identifiers of Pokec profiles are
+   * dense so identifier of the new profile is generated from its index too.
+   */
+  public static void insertProfile(ODatabaseSession session, long profileIndex, String key, UpdatePayloadPool payloadPool,
+      Random random) {
+    final Date now = new Date();
+
+    final OVertex vertex = session.newVertex(PokecLoad.PROFILE_CLASS);
+    vertex.setProperty("key", key);
+    vertex.setProperty("user_id", (int) (profileIndex + 1));
+    vertex.setProperty("public_profile", random.nextBoolean());
+    vertex.setProperty("completion_percentage", random.nextInt(101));
+    vertex.setProperty("gender", random.nextBoolean());
+    vertex.setProperty("last_login", now);
+    vertex.setProperty("registration", now);
+    vertex.setProperty("age", random.nextInt(60) + 14);
+
+    PokecUpdater.updateProfile(vertex, payloadPool, random);
+  }
+}
@@ -0,0 +1,200 @@
+package com.orientechnologies.pokec.load;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Progress of initial load of data which is periodically saved to the file, so the load can be resumed if it was interrupted.
+ * <p>
+ * Profiles are committed by several loaders in arbitrary order, so checkpoint contains amount of the first profiles of the dump
+ * which are all committed. Relations of each queue are committed by single loader in the order of the dump, so checkpoint
+ * contains amount of committed relations for each queue. Profiles and relations which were committed after the last save of
+ * checkpoint are detected by the loaders after resume.
+ * <p>
+ * Relations of the dump are split between queues by source profile, while relations of the snapshot are split into contiguous
+ * ranges, so checkpoint also contains source of data and the load can be resumed only from the same source.
+ */
+final class LoadCheckpoint {
+  private static final String QUEUES_COUNT        = "queuesCount";
+  private static final String SNAPSHOT_RELATIONS  = "snapshotRelations";
+  private static final String PROFILES_CSV        = "profilesCsv";
+  private static final String RELATIONS_CSV       = "relationsCsv";
+  private static final String PROFILES_LOADED     = "profilesLoaded";
+  private static final String COMMITTED_PROFILES  = "committedProfiles";
+  private static final String COMMITTED_RELATIONS = "committedRelations.";
+
+  private final File            file;
+  private final int             queuesCount;
+  private final long            snapshotRelations;
+  private final String          profilesCsv;
+  private final String          relationsCsv;
+  private final AtomicLongArray committedRelations;
+
+  private final BitSet committedProfilesAhead = new BitSet();
+
+  private volatile boolean profilesLoaded;
+  private          int     committedProfiles;
+
+  private LoadCheckpoint(File file, int queuesCount, long snapshotRelations, String profilesCsv, String relationsCsv) {
+    this.file = file;
+    this.queuesCount = queuesCount;
+    this.snapshotRelations = snapshotRelations;
+    this.profilesCsv = profilesCsv;
+    this.relationsCsv = relationsCsv;
+    this.committedRelations = new AtomicLongArray(queuesCount);
+  }
+
+  /**
+   * Creates checkpoint of the new load.
+   *
+   * @param queuesCount       Amount of queues of relations.
+   * @param snapshotRelations Amount of relations in the snapshot data are loaded from or -1 if data are loaded from original
+   *                          dumps.
+   */
+  static LoadCheckpoint create(File file, int queuesCount, long snapshotRelations, String profilesCsv, String relationsCsv)
+      throws IOException {
+    final LoadCheckpoint checkpoint = new LoadCheckpoint(file, queuesCount, snapshotRelations, profilesCsv, relationsCsv);
+    checkpoint.save();
+    return checkpoint;
+  }
+
+  /**
+   * Reads checkpoint of interrupted load.
+   */
+  static LoadCheckpoint load(File file) throws IOException {
+    final Properties properties = new Properties();
+    try (InputStream inputStream = new FileInputStream(file)) {
+      properties.load(inputStream);
+    }
+
+    final int queuesCount = Integer.parseInt(properties.getProperty(QUEUES_COUNT));
+    final String snapshotRelations = properties.getProperty(SNAPSHOT_RELATIONS);
+    if (snapshotRelations == null) {
+      throw new IllegalStateException("Checkpoint " + file + " does not contain source of data and can not be resumed");
+    }
+
+    final LoadCheckpoint checkpoint = new LoadCheckpoint(file, queuesCount, Long.parseLong(snapshotRelations),
+        properties.getProperty(PROFILES_CSV), properties.getProperty(RELATIONS_CSV));
+
+    checkpoint.profilesLoaded = Boolean.parseBoolean(properties.getProperty(PROFILES_LOADED));
+    checkpoint.committedProfiles = Integer.parseInt(properties.getProperty(COMMITTED_PROFILES));
+    for (int i = 0; i < queuesCount; i++) {
+      checkpoint.committedRelations.set(i, Long.parseLong(properties.getProperty(COMMITTED_RELATIONS + i)));
+    }
+
+    return checkpoint;
+  }
+
+  int getQueuesCount() {
+    return queuesCount;
+  }
+
+  /**
+   * @return Amount of relations in the snapshot data were loaded from or -1 if data were loaded from original dumps.
+   */
+  long getSnapshotRelations() {
+    return snapshotRelations;
+  }
+
+  String getProfilesCsv() {
+    return profilesCsv;
+  }
+
+  String getRelationsCsv() {
+    return relationsCsv;
+  }
+
+  boolean isProfilesLoaded() {
+    return profilesLoaded;
+  }
+
+  void profilesLoaded() {
+    profilesLoaded = true;
+  }
+
+  /**
+   * @return Amount of the first profiles of the dump which are all committed.
+   */
+  synchronized int getCommittedProfiles() {
+    return committedProfiles;
+  }
+
+  /**
+   * Marks passed in profiles as committed.
+   */
+  synchronized void profilesCommitted(List<PokecProfile> profiles) {
+    for (PokecProfile pokecProfile : profiles) {
+      if (pokecProfile.index >= committedProfiles) {
+        committedProfilesAhead.set(pokecProfile.index);
+      }
+    }
+
+    while (committedProfilesAhead.get(committedProfiles)) {
+      committedProfilesAhead.clear(committedProfiles);
+      committedProfiles++;
+    }
+  }
+
+  /**
+   * @return Amount of relations of given queue which are committed.
+   */
+  long getCommittedRelations(int queueIndex) {
+    return committedRelations.get(queueIndex);
+  }
+
+  long getCommittedRelations() {
+    long sum = 0;
+    for (int i = 0; i < queuesCount; i++) {
+      sum += committedRelations.get(i);
+    }
+
+    return sum;
+  }
+
+  /**
+   * Marks next relation of given queue as committed, should be called only by the loader of this queue.
+   */
+  void relationCommitted(int queueIndex) {
+    committedRelations.incrementAndGet(queueIndex);
+  }
+
+  /**
+   * Writes checkpoint into the temporary file and then atomically replaces previous version of checkpoint.
+   */
+  synchronized void save() throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty(QUEUES_COUNT, Integer.toString(queuesCount));
+    properties.setProperty(SNAPSHOT_RELATIONS, Long.toString(snapshotRelations));
+    properties.setProperty(PROFILES_CSV, profilesCsv);
+    properties.setProperty(RELATIONS_CSV, relationsCsv);
+    properties.setProperty(PROFILES_LOADED, Boolean.toString(profilesLoaded));
+    properties.setProperty(COMMITTED_PROFILES, Integer.toString(committedProfiles));
+    for (int i = 0; i < queuesCount; i++) {
+      properties.setProperty(COMMITTED_RELATIONS + i, Long.toString(committedRelations.get(i)));
+    }
+
+    final File tmpFile = new File(file.getPath() + ".tmp");
+    try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
+      properties.store(outputStream, "Checkpoint of load of pokec database");
+    }
+
+    Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Removes checkpoint once load is completed.
+   */
+  void delete() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+}
@@ -0,0 +1,96 @@
+package com.orientechnologies.pokec.load;
+
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Gathers amount of items stored by all loader threads and reports throughput of load each time when another
+ * {@link #REPORT_INTERVAL} items are stored.
+ */
+final class LoadProgress {
+  private static final int REPORT_INTERVAL = 100_000;
+
+  private final String     itemsName;
+  private final CSVPrinter csvPrinter;
+  private final Object[]   additionalColumns;
+
+  private int  itemsCounter;
+  private int  reportedItemsCounter;
+  private int  skippedItemsCounter;
+  private long ts;
+
+  /**
+   * @param additionalColumns Values which are added to each CSV record after the amount of items, time per item and throughput.
+   */
+  LoadProgress(String itemsName, CSVPrinter csvPrinter, Object... additionalColumns) {
+    this.itemsName = itemsName;
+    this.csvPrinter = csvPrinter;
+    this.additionalColumns = additionalColumns;
+    this.ts = System.nanoTime();
+  }
+
+  synchronized void itemsLoaded(int count) {
+    final int previousReport = itemsCounter / REPORT_INTERVAL;
+    itemsCounter += count;
+
+    if (itemsCounter / REPORT_INTERVAL == previousReport) {
+      return;
+    }
+
+    final long currentTimeStamp = System.nanoTime();
+    final long timePassed = currentTimeStamp - ts;
+    ts = currentTimeStamp;
+
+    final long timePerItem = timePassed / (itemsCounter - reportedItemsCounter);
+    reportedItemsCounter = itemsCounter;
+    final long timePerItemMks = timePerItem / 1_000;
+    final long itemsPerSecond = 1_000_000_000 / timePerItem;
+
+    System.out.printf("%d %s were processed, avg. insertion time %d us, throughput %d %s/s\n", itemsCounter, itemsName,
+        timePerItemMks, itemsPerSecond, itemsName);
+
+    final Object[] record = new Object[3 + additionalColumns.length];
+    record[0] = itemsCounter;
+    record[1] = timePerItemMks;
+    record[2] = itemsPerSecond;
+    System.arraycopy(additionalColumns, 0, record, 3, additionalColumns.length);
+
+    try {
+      csvPrinter.printRecord(record);
+    } catch (IOException e) {
+      final StringWriter stringWriter = new StringWriter();
+      final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+      printWriter.println("Can not write load data into csv file");
+      e.printStackTrace(printWriter);
+
+      printWriter.flush();
+
+      System.err.println(stringWriter.toString());
+    }
+  }
+
+  /**
+   * Counts items which were loaded before the load was resumed, such items are not taken into account in calculation of
+   * throughput.
+   */
+  synchronized void itemsSkipped(int count) {
+    itemsCounter += count;
+    reportedItemsCounter += count;
+    skippedItemsCounter += count;
+  }
+
+  synchronized int getItemsCounter() {
+    return itemsCounter;
+  }
+
+  /**
+   * @return Amount of items which were loaded after the start or resume of the load.
+   */
+  synchronized int getLoadedItemsCounter() {
+    return itemsCounter - skippedItemsCounter;
+  }
+}
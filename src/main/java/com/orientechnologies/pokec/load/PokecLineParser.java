@@ -0,0 +1,317 @@
+package com.orientechnologies.pokec.load;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Parser of lines of profiles dump which works directly on UTF-8 encoded bytes. Integers are parsed in place, dates in format
+ * <code>yyyy-MM-dd kk:mm:ss.n</code> are converted to the epoch milliseconds without intermediate objects and strings are created
+ * only for fields which are not equal to <code>null</code>.
+ * <p>
+ * Parser keeps position inside of the line which is parsed, so each instance should be used by single thread.
+ */
+final class PokecLineParser {
+  private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.US_ASCII);
+
+  private static final long MILLIS_IN_SECOND = 1_000L;
+  private static final long MILLIS_IN_MINUTE = 60 * MILLIS_IN_SECOND;
+  private static final long MILLIS_IN_HOUR   = 60 * MILLIS_IN_MINUTE;
+  private static final long MILLIS_IN_DAY    = 24 * MILLIS_IN_HOUR;
+
+  private final TimeZone timeZone;
+
+  private byte[] data;
+  private int    position;
+  private int    end;
+
+  private int fieldStart;
+  private int fieldEnd;
+
+  PokecLineParser() {
+    this(TimeZone.getDefault());
+  }
+
+  /**
+   * @param timeZone Time zone in which dates of the dump are interpreted.
+   */
+  PokecLineParser(TimeZone timeZone) {
+    this.timeZone = timeZone;
+  }
+
+  /**
+   * Parses single line of profiles dump, line should not contain line separator.
+   *
+   * @param start Index of the first byte of the line.
+   * @param end   Index of the byte which follows the last byte of the line.
+   */
+  PokecProfile parseProfile(byte[] data, int start, int end) {
+    this.data = data;
+    this.position = start;
+    this.end = end;
+
+    final PokecProfile pokecProfile = new PokecProfile();
+
+    nextField();
+    pokecProfile.user_id = parseInt();
+
+    nextField();
+    pokecProfile.public_profile = parseInt() == 1;
+
+    nextField();
+    pokecProfile.completion_percentage = parseInt();
+
+    nextField();
+    if (!isNull()) {
+      pokecProfile.gender = parseInt() == 1;
+    }
+
+    nextField();
+    pokecProfile.region = decodeString();
+
+    nextField();
+    if (!isNull()) {
+      pokecProfile.last_login = new Date(parseDate());
+    }
+
+    nextField();
+    if (!isNull()) {
+      pokecProfile.registration = new Date(parseDate());
+    }
+
+    nextField();
+    if (!isNull()) {
+      pokecProfile.age = parseInt();
+    }
+
+    pokecProfile.body = nextString();
+    pokecProfile.i_am_working_in_field = nextString();
+    pokecProfile.spoken_languages = nextString();
+    pokecProfile.hobbies = nextString();
+    pokecProfile.i_most_enjoy_good_food = nextString();
+    pokecProfile.pets = nextString();
+    pokecProfile.body_type = nextString();
+    pokecProfile.my_eyesight = nextString();
+    pokecProfile.eye_color = nextString();
+    pokecProfile.hair_color = nextString();
+    pokecProfile.hair_type = nextString();
+    pokecProfile.completed_level_of_education = nextString();
+    pokecProfile.favourite_color = nextString();
+    pokecProfile.relation_to_smoking = nextString();
+    pokecProfile.relation_to_alcohol = nextString();
+    pokecProfile.sign_in_zodiac = nextString();
+    pokecProfile.on_pokec_i_am_looking_for = nextString();
+    pokecProfile.love_is_for_me = nextString();
+    pokecProfile.relation_to_casual_sex = nextString();
+    pokecProfile.my_partner_should_be = nextString();
+    pokecProfile.marital_status = nextString();
+    pokecProfile.children = nextString();
+    pokecProfile.relation_to_children = nextString();
+    pokecProfile.i_like_movies = nextString();
+    pokecProfile.i_like_watching_movie = nextString();
+    pokecProfile.i_like_music = nextString();
+    pokecProfile.i_mostly_like_listening_to_music = nextString();
+    pokecProfile.the_idea_of_good_evening = nextString();
+    pokecProfile.i_like_specialties_from_kitchen = nextString();
+    pokecProfile.fun = nextString();
+    pokecProfile.i_am_going_to_concerts = nextString();
+    pokecProfile.my_active_sports = nextString();
+    pokecProfile.my_passive_sports = nextString();
+    pokecProfile.profession = nextString();
+    pokecProfile.i_like_books = nextString();
+    pokecProfile.life_style = nextString();
+    pokecProfile.music = nextString();
+    pokecProfile.cars = nextString();
+    pokecProfile.politics = nextString();
+    pokecProfile.relationships = nextString();
+    pokecProfile.art_culture = nextString();
+    pokecProfile.hobbies_interests = nextString();
+    pokecProfile.science_technologies = nextString();
+    pokecProfile.computers_internet = nextString();
+    pokecProfile.education = nextString();
+    pokecProfile.sport = nextString();
+    pokecProfile.movies = nextString();
+    pokecProfile.travelling = nextString();
+    pokecProfile.health = nextString();
+    pokecProfile.companies_brands = nextString();
+    pokecProfile.more = nextString();
+
+    this.data = null;
+    return pokecProfile;
+  }
+
+  /**
+   * Moves to the next tab separated field of the line. Fields which are absent at the end of the line are treated as
+   * <code>null</code> values.
+   */
+  private void nextField() {
+    if (position > end) {
+      fieldStart = -1;
+      fieldEnd = -1;
+      return;
+    }
+
+    fieldStart = position;
+
+    int index = position;
+    while (index < end && data[index] != '\t') {
+      index++;
+    }
+
+    fieldEnd = index;
+    position = index + 1;
+  }
+
+  private boolean isNull() {
+    if (fieldStart < 0) {
+      return true;
+    }
+
+    if (fieldEnd - fieldStart != NULL_BYTES.length) {
+      return false;
+    }
+
+    for (int i = 0; i < NULL_BYTES.length; i++) {
+      if (data[fieldStart + i] != NULL_BYTES[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private String nextString() {
+    nextField();
+
+    if (isNull()) {
+      return null;
+    }
+
+    return decodeString();
+  }
+
+  private String decodeString() {
+    if (fieldStart < 0) {
+      return null;
+    }
+
+    return new String(data, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8);
+  }
+
+  private int parseInt() {
+    if (fieldStart < 0) {
+      throw new NumberFormatException("Field is absent");
+    }
+
+    int index = fieldStart;
+    boolean negative = false;
+    if (index < fieldEnd && data[index] == '-') {
+      negative = true;
+      index++;
+    }
+
+    if (index == fieldEnd) {
+      throw invalidNumber();
+    }
+
+    int value = 0;
+    while (index < fieldEnd) {
+      final int digit = data[index] - '0';
+      if (digit < 0 || digit > 9) {
+        throw invalidNumber();
+      }
+
+      value = value * 10 + digit;
+      index++;
+    }
+
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses date in format <code>yyyy-MM-dd kk:mm:ss.n</code>, fraction of seconds is parsed as amount of nanoseconds as it is done
+   * by {@link java.time.format.DateTimeFormatter}.
+   *
+   * @return Date in milliseconds since the epoch.
+   */
+  private long parseDate() {
+    if (fieldStart < 0 || fieldEnd - fieldStart < 19 || data[fieldStart + 4] != '-' || data[fieldStart + 7] != '-'
+        || data[fieldStart + 10] != ' ' || data[fieldStart + 13] != ':' || data[fieldStart + 16] != ':') {
+      throw invalidDate();
+    }
+
+    final int year = parseDigits(fieldStart, 4);
+    final int month = parseDigits(fieldStart + 5, 2);
+    final int day = parseDigits(fieldStart + 8, 2);
+    int hour = parseDigits(fieldStart + 11, 2);
+    final int minute = parseDigits(fieldStart + 14, 2);
+    final int second = parseDigits(fieldStart + 17, 2);
+
+    //clock hour of day, 24 means midnight
+    if (hour == 24) {
+      hour = 0;
+    }
+
+    if (month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 59) {
+      throw invalidDate();
+    }
+
+    int nanos = 0;
+    if (fieldEnd - fieldStart > 19) {
+      if (data[fieldStart + 19] != '.' || fieldEnd - fieldStart == 20 || fieldEnd - fieldStart > 29) {
+        throw invalidDate();
+      }
+
+      nanos = parseDigits(fieldStart + 20, fieldEnd - fieldStart - 20);
+    }
+
+    final long localMillis =
+        daysFromEpoch(year, month, day) * MILLIS_IN_DAY + hour * MILLIS_IN_HOUR + minute * MILLIS_IN_MINUTE
+            + second * MILLIS_IN_SECOND + nanos / 1_000_000;
+
+    return localMillis - timeZone.getOffset(localMillis - timeZone.getOffset(localMillis));
+  }
+
+  private int parseDigits(int start, int length) {
+    int value = 0;
+    for (int i = start; i < start + length; i++) {
+      final int digit = data[i] - '0';
+      if (digit < 0 || digit > 9) {
+        throw invalidDate();
+      }
+
+      value = value * 10 + digit;
+    }
+
+    return value;
+  }
+
+  /**
+   * @return Amount of days between 1970-01-01 and given date of proleptic Gregorian calendar.
+   */
+  private static long daysFromEpoch(int year, int month, int day) {
+    final long y = month <= 2 ? year - 1 : year;
+    final long era = Math.floorDiv(y, 400);
+    final long yearOfEra = y - era * 400;
+    final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  private NumberFormatException invalidNumber() {
+    return new NumberFormatException("Invalid number '" + fieldValue() + "'");
+  }
+
+  private IllegalArgumentException invalidDate() {
+    return new IllegalArgumentException("Invalid date '" + fieldValue() + "'");
+  }
+
+  private String fieldValue() {
+    if (fieldStart < 0) {
+      return "";
+    }
+
+    return new String(data, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8);
+  }
+}
@@ -9,8 +9,9 @@ import com.orientechnologies.orient.core.metadata.OMetadata;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OSchema;
 import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.pokec.common.CommandLineUtils;
-import com.orientechnologies.pokec.common.FNVHash;
+import com.orientechnologies.pokec.common.PhaseProfiler;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -19,22 +20,20 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 
 public class PokecLoad {
@@ -42,12 +41,14 @@ public class PokecLoad {
   private static final long NANOS_IN_MINUTES = 1_000_000_000L * 60;
   private static final long NANOS_IN_SECONDS = 1_000_000_000L;
 
-  private static final String DEFAULT_PROFILES_FILE  = "soc-pokec-profiles.txt.gz";
-  private static final String DEFAULT_RELATIONS_FILE = "soc-pokec-relationships.txt.gz";
+  static final String DEFAULT_PROFILES_FILE  = "soc-pokec-profiles.txt.gz";
+  static final String DEFAULT_RELATIONS_FILE = "soc-pokec-relationships.txt.gz";
 
-  private static final String NULL_STRING = "null";
+  private static final long CHECKPOINT_INTERVAL = 10_000;
 
   public static final String PROFILE_CLASS = "Profile";
+  public static final String KEY_INDEX     = "key_index";
+  public static final String USER_ID_INDEX = "user_id_index";
 
   public static final String[] DATA_FIELDS = { "body", "i_am_working_in_field", "spoken_languages", "hobbies",
       "i_most_enjoy_good_food", "pets", "body_type", "my_eyesight", "eye_color", "hair_color", "hair_type",
@@ -77,38 +78,130 @@ public class PokecLoad {
 
         final String dbName = CommandLineUtils.dbName(cmd);
 
-        if (embedded) {
-          OFileUtils.deleteRecursively(new File(path));
-          orientDB.create(dbName, ODatabaseType.PLOCAL);
+        final File checkpointFile = new File(String.format("pokecLoad %s.checkpoint", dbName));
+        final boolean resumed = CommandLineUtils.isResume(cmd) && checkpointFile.exists();
+        if (CommandLineUtils.isResume(cmd) && !resumed) {
+          System.out.printf("Checkpoint %s is not found, load will be started from scratch\n", checkpointFile);
         }
 
         final boolean isAutosharded = CommandLineUtils.isAutosharded(cmd);
         final OClass.INDEX_TYPE indexType = CommandLineUtils.getIndexType(cmd);
 
-        if (isAutosharded) {
-          System.out.println("Autosharded index will be used for indexing of DB keys");
+        final int numThreads = CommandLineUtils.numThreads(cmd);
+        final String csvSuffix = CommandLineUtils.getCsvSuffix(cmd);
+
+        final File snapshotDirectory = CommandLineUtils.getSnapshotDirectory(cmd);
+        PokecSnapshot snapshot = null;
+        if (PokecSnapshot.exists(snapshotDirectory)) {
+          System.out.printf("Data will be loaded from snapshot %s\n", snapshotDirectory);
+          snapshot = PokecSnapshot.open(snapshotDirectory);
         } else {
-          System.out.printf("%s index will be used for indexing of keys\n", indexType.toString());
+          System.out.println("Snapshot of data is not found, data will be loaded from original dumps");
         }
+        final long snapshotRelations = snapshot != null ? snapshot.getRelationsCount() : -1;
+
+        final LoadCheckpoint checkpoint;
+        if (resumed) {
+          checkpoint = LoadCheckpoint.load(checkpointFile);
+          if (checkpoint.getQueuesCount() != numThreads) {
+            throw new IllegalStateException(
+                "Load was started using " + checkpoint.getQueuesCount() + " threads and should be resumed using the same amount "
+                    + "of threads but " + numThreads + " threads were requested");
+          }
+          if (checkpoint.getSnapshotRelations() != snapshotRelations) {
+            throw new IllegalStateException(
+                "Load was started from " + describeSource(checkpoint.getSnapshotRelations()) + " and should be resumed from the "
+                    + "same source, because relations are split between threads differently, but data are read from "
+                    + describeSource(snapshotRelations));
+          }
 
-        generateSchema(orientDB, path, dbName, isAutosharded, indexType);
+          System.out.printf("Load will be resumed from checkpoint %s\n", checkpointFile);
+        } else {
+          if (embedded) {
+            OFileUtils.deleteRecursively(new File(path));
+            orientDB.create(dbName, ODatabaseType.PLOCAL);
+          }
+
+          if (isAutosharded) {
+            System.out.println("Autosharded index will be used for indexing of DB keys");
+          } else {
+            System.out.printf("%s index will be used for indexing of keys\n", indexType.toString());
+          }
+
+          generateSchema(orientDB, path, dbName, isAutosharded, indexType);
+
+          final Date startDate = new Date();
+          checkpoint = LoadCheckpoint
+              .create(checkpointFile, numThreads, snapshotRelations, String.format("profileLoad %tc%s.csv", startDate, csvSuffix),
+                  String.format("relationsLoad %tc%s.csv", startDate, csvSuffix));
+        }
 
         final ExecutorService executorService = Executors.newCachedThreadPool();
 
-        final int numThreads = CommandLineUtils.numThreads(cmd);
         System.out.printf("%d threads will be used for data load\n", numThreads);
 
-        final String csvSuffix = CommandLineUtils.getCsvSuffix(cmd);
+        final int loadBatchSize = CommandLineUtils.getLoadBatchSize(cmd);
+        System.out.printf("%d profiles will be stored in single transaction\n", loadBatchSize);
+        final int parserThreads = CommandLineUtils.getParserThreads(cmd);
+        final PhaseProfiler profiler = CommandLineUtils.createPhaseProfiler(cmd);
+
+        final Timer checkpointTimer = new Timer();
+        checkpointTimer.schedule(new TimerTask() {
+          @Override
+          public void run() {
+            try {
+              checkpoint.save();
+            } catch (IOException e) {
+              System.err.printf("Can not save checkpoint %s\n", checkpointFile);
+              e.printStackTrace();
+            }
+          }
+        }, CHECKPOINT_INTERVAL, CHECKPOINT_INTERVAL);
+
+        final ProfileRidMap ridMap = new ProfileRidMap();
         try (ODatabasePool pool = new ODatabasePool(orientDB, dbName, "admin", "admin")) {
-          profileStatistics = loadProfiles(executorService, pool, path, numThreads, csvSuffix);
-          relationStatistics = loadRelations(executorService, pool, path, numThreads, csvSuffix);
+          if (resumed) {
+            final int profilesCount = restoreRidMap(pool, ridMap);
+            System.out.printf("%d profiles were loaded before the load was resumed\n", profilesCount);
+          }
+
+          if (checkpoint.isProfilesLoaded()) {
+            profileStatistics = "All profiles were loaded before the load was resumed\n";
+          } else {
+            profiler.start(getReportName(checkpoint.getProfilesCsv()));
+            try {
+              profileStatistics = loadProfiles(executorService, pool, path, numThreads, ridMap, loadBatchSize, parserThreads,
+                  snapshot, checkpoint);
+            } finally {
+              profiler.stop();
+            }
+
+            checkpoint.profilesLoaded();
+            checkpoint.save();
+          }
+
+          profiler.start(getReportName(checkpoint.getRelationsCsv()));
+          try {
+            relationStatistics = loadRelations(executorService, pool, path, numThreads, ridMap, snapshot, checkpoint, resumed);
+          } finally {
+            profiler.stop();
+          }
 
           executorService.shutdown();
+        } finally {
+          checkpointTimer.cancel();
+
+          if (snapshot != null) {
+            snapshot.close();
+          }
         }
 
+        checkpoint.delete();
+
         System.out.printf("Load of data of pokec database into %s is completed\n", path);
         System.out.println("Following settings were used:");
         System.out.printf("Number of threads : %d \n", numThreads);
+        System.out.printf("Batch size of profiles load : %d \n", loadBatchSize);
         if (isAutosharded) {
           System.out.println("Autosharded index was used for indexing of keys");
         } else {
@@ -124,60 +217,80 @@ public class PokecLoad {
 
   }
 
+  /**
+   * @param snapshotRelations Amount of relations in the snapshot or -1 if data are loaded from original dumps.
+   */
+  private static String describeSource(long snapshotRelations) {
+    if (snapshotRelations < 0) {
+      return "original dumps";
+    }
+
+    return "snapshot with " + snapshotRelations + " relations";
+  }
+
+  /**
+   * @return Name of CSV report without extension.
+   */
+  private static String getReportName(String csvFile) {
+    return csvFile.substring(0, csvFile.length() - ".csv".length());
+  }
+
   private static String loadRelations(ExecutorService executorService, ODatabasePool pool, String path,
-      int numThreads, String csvSuffix)
+      int numThreads, ProfileRidMap ridMap, PokecSnapshot snapshot, LoadCheckpoint checkpoint, boolean resumed)
       throws IOException, InterruptedException, java.util.concurrent.ExecutionException {
     System.out.printf("Start loading of relations for %s database\n", path);
     final File relationsFile = new File(DEFAULT_RELATIONS_FILE);
 
-    final List<Future<Integer>> futures = new ArrayList<>();
+    try (FileWriter csvWriter = new FileWriter(checkpoint.getRelationsCsv(), true)) {
+      try (CSVPrinter csvPrinter = new CSVPrinter(csvWriter, CSVFormat.DEFAULT)) {
+        final LoadProgress progress = new LoadProgress("relations", csvPrinter);
+        progress.itemsSkipped((int) checkpoint.getCommittedRelations());
 
-    @SuppressWarnings("unchecked")
-    ArrayBlockingQueue<int[]>[] relationsQueues = new ArrayBlockingQueue[numThreads];
-    for (int i = 0; i < numThreads; i++) {
-      final ArrayBlockingQueue<int[]> queue = new ArrayBlockingQueue<>(10 * 1024);
-      futures.add(executorService.submit(new PokecRelationsLoader(queue, pool)));
-      relationsQueues[i] = queue;
-    }
+        final List<Future<Integer>> futures = new ArrayList<>();
 
-    try (FileWriter csvWriter = new FileWriter(String.format("relationsLoad %tc%s.csv", new Date(), csvSuffix))) {
-      try (CSVPrinter csvPrinter = new CSVPrinter(csvWriter, CSVFormat.DEFAULT)) {
-        int relationCounter = 0;
+        @SuppressWarnings("unchecked")
+        ArrayBlockingQueue<int[]>[] relationsQueues = new ArrayBlockingQueue[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+          final ArrayBlockingQueue<int[]> queue = new ArrayBlockingQueue<>(10 * 1024);
+          futures.add(executorService.submit(new PokecRelationsLoader(queue, pool, ridMap, progress, checkpoint, i, resumed)));
+          relationsQueues[i] = queue;
+        }
+
+        long relationCounter = 0;
         final long startRelationLoadTs = System.nanoTime();
-        long ts = startRelationLoadTs;
-        try (FileInputStream fileInputStream = new FileInputStream(relationsFile)) {
-          try (GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream)) {
-            try (InputStreamReader reader = new InputStreamReader(gzipInputStream)) {
-              try (BufferedReader bufferedReader = new BufferedReader(reader)) {
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                  final String[] relation = line.split("\\t");
-                  final int[] fromTo = new int[2];
-
-                  fromTo[0] = Integer.parseInt(relation[0]);
-                  fromTo[1] = Integer.parseInt(relation[1]);
-
-                  final int queueIndex = fromTo[0] % numThreads;
-                  final ArrayBlockingQueue<int[]> queue = relationsQueues[queueIndex];
-                  queue.put(fromTo);
-
-                  relationCounter++;
-
-                  if (relationCounter > 0 && relationCounter % 100_000 == 0) {
-                    final long currentTimeStamp = System.nanoTime();
-                    final long timePassed = currentTimeStamp - ts;
-                    ts = currentTimeStamp;
-
-                    final long timePerItem = timePassed / 100_000;
-                    final long timePerItemMks = timePerItem / 1_000;
-                    final long itemsPerSecond = 1_000_000_000 / timePerItem;
-
-                    System.out
-                        .printf("%d relations were processed, avg. insertion time %d us, throughput %d rel/s\n", relationCounter,
-                            timePerItemMks, itemsPerSecond);
-                    csvPrinter.printRecord(relationCounter, timePerItemMks, itemsPerSecond);
-                  }
+        if (snapshot != null) {
+          relationCounter = snapshot.getRelationsCount();
+
+          final List<Future<Void>> readerFutures = new ArrayList<>();
+          for (int i = 0; i < numThreads; i++) {
+            final long firstRelation = relationCounter * i / numThreads + checkpoint.getCommittedRelations(i);
+            final long lastRelation = relationCounter * (i + 1) / numThreads;
+
+            readerFutures.add(executorService
+                .submit(new SnapshotRelationsReader(snapshot, firstRelation, lastRelation, relationsQueues[i])));
+          }
+
+          for (Future<Void> future : readerFutures) {
+            future.get();
+          }
+        } else {
+          try (FileInputStream fileInputStream = new FileInputStream(relationsFile)) {
+            try (GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream, 64 * 1024)) {
+              final PokecRelationsReader relationsReader = new PokecRelationsReader(gzipInputStream);
+              final long[] queuedRelations = new long[numThreads];
+
+              int[] fromTo = new int[2];
+              while (relationsReader.readRelation(fromTo)) {
+                relationCounter++;
+
+                final int queueIndex = fromTo[0] % numThreads;
+                if (queuedRelations[queueIndex]++ < checkpoint.getCommittedRelations(queueIndex)) {
+                  continue;
                 }
+
+                final ArrayBlockingQueue<int[]> queue = relationsQueues[queueIndex];
+                queue.put(fromTo);
+                fromTo = new int[2];
               }
             }
           }
@@ -195,7 +308,7 @@ public class PokecLoad {
         final long endRelationLoadTs = System.nanoTime();
         final long relationLoadTime = endRelationLoadTs - startRelationLoadTs;
 
-        final long loadTimePerRelation = relationLoadTime / relationCounter;
+        final long loadTimePerRelation = relationLoadTime / Math.max(1, progress.getLoadedItemsCounter());
         final long relationsPerSecond = 1_000_000_000 / loadTimePerRelation;
         final long loadTimePerRelationMks = loadTimePerRelation / 1000;
 
@@ -218,70 +331,76 @@ public class PokecLoad {
   }
 
   private static String loadProfiles(ExecutorService executorService, ODatabasePool pool, String path,
-      int numThreads, String csvSuffix)
+      int numThreads, ProfileRidMap ridMap, int loadBatchSize, int parserThreads, PokecSnapshot snapshot,
+      LoadCheckpoint checkpoint)
       throws IOException, InterruptedException, java.util.concurrent.ExecutionException {
-    System.out.printf("Start loading of profiles for %s database\n", path);
+    System.out.printf("Start loading of profiles for %s database, %d threads are used to read profiles\n", path, parserThreads);
 
-    final ArrayBlockingQueue<PokecProfile> profileQueue = new ArrayBlockingQueue<>(256);
+    final ArrayBlockingQueue<ProfileChunk> chunkQueue = new ArrayBlockingQueue<>(2 * parserThreads);
+    final ArrayBlockingQueue<List<PokecProfile>> batchQueue = new ArrayBlockingQueue<>(2 * numThreads);
     final File profilesFile = new File(DEFAULT_PROFILES_FILE);
 
-    final List<Future<Void>> futures = new ArrayList<>();
-    for (int i = 0; i < numThreads; i++) {
-      futures.add(executorService.submit(new PokecProfileLoader(pool, profileQueue)));
-    }
-
-    try (FileWriter csvWriter = new FileWriter(String.format("profileLoad %tc%s.csv", new Date(), csvSuffix))) {
+    try (FileWriter csvWriter = new FileWriter(checkpoint.getProfilesCsv(), true)) {
       try (CSVPrinter csvPrinter = new CSVPrinter(csvWriter, CSVFormat.DEFAULT)) {
-        int profileCounter = 0;
+        final LoadProgress progress = new LoadProgress("profiles", csvPrinter, loadBatchSize);
+        final int firstProfile = checkpoint.getCommittedProfiles();
+        progress.itemsSkipped(firstProfile);
+
+        final List<Future<Integer>> loaderFutures = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+          loaderFutures
+              .add(executorService.submit(new PokecProfileLoader(pool, batchQueue, ridMap, loadBatchSize, progress, checkpoint)));
+        }
+
+        final int profileCounter;
         final long startProfileLoadTs = System.nanoTime();
-        long ts = startProfileLoadTs;
-        final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd kk:mm:ss.n");
-        try (FileInputStream fileInputStream = new FileInputStream(profilesFile)) {
-          try (GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream)) {
-            try (InputStreamReader reader = new InputStreamReader(gzipInputStream)) {
-              try (BufferedReader bufferedReader = new BufferedReader(reader)) {
-
-                String line;
-
-                while ((line = bufferedReader.readLine()) != null) {
-                  final PokecProfile pokecProfile = fillPokecProfile(dateTimeFormatter, line);
-                  pokecProfile.key = "key" + FNVHash.FNVhash64(profileCounter);
-                  profileQueue.put(pokecProfile);
-
-                  profileCounter++;
-                  if (profileCounter > 0 && profileCounter % 100_000 == 0) {
-                    final long currentTimeStamp = System.nanoTime();
-                    final long timePassed = currentTimeStamp - ts;
-                    ts = currentTimeStamp;
-
-                    final long timePerItem = timePassed / 100_000;
-                    final long timePerItemMks = timePerItem / 1_000;
-                    final long itemsPerSecond = 1_000_000_000 / timePerItem;
-
-                    System.out
-                        .printf("%d profiles were processed, avg. insertion time %d us, throughput %d profiles/s\n", profileCounter,
-                            timePerItemMks, itemsPerSecond);
-                    csvPrinter.printRecord(profileCounter, timePerItemMks, itemsPerSecond);
-                  }
-                }
+        final List<Future<Void>> readerFutures = new ArrayList<>();
+        if (snapshot != null) {
+          final AtomicInteger blockCounter = new AtomicInteger();
+          for (int i = 0; i < parserThreads; i++) {
+            readerFutures
+                .add(executorService.submit(new SnapshotProfileReader(snapshot, blockCounter, firstProfile, batchQueue)));
+          }
+
+          profileCounter = snapshot.getProfilesCount();
+        } else {
+          for (int i = 0; i < parserThreads; i++) {
+            readerFutures.add(executorService.submit(new PokecProfileParser(chunkQueue, batchQueue, firstProfile)));
+          }
+
+          try (FileInputStream fileInputStream = new FileInputStream(profilesFile)) {
+            try (GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream, 64 * 1024)) {
+              final ProfileChunkReader chunkReader = new ProfileChunkReader(gzipInputStream);
+
+              ProfileChunk chunk;
+              while ((chunk = chunkReader.readChunk()) != null) {
+                chunkQueue.put(chunk);
               }
+
+              profileCounter = chunkReader.getProfilesCount();
             }
           }
 
+          for (int i = 0; i < parserThreads; i++) {
+            chunkQueue.put(ProfileChunk.END);
+          }
+        }
+
+        for (Future<Void> future : readerFutures) {
+          future.get();
         }
 
-        final PokecProfile end = new PokecProfile();
-        end.user_id = -1;
         for (int i = 0; i < numThreads; i++) {
-          profileQueue.put(end);
+          batchQueue.put(PokecProfileLoader.END_OF_PROFILES);
         }
 
-        for (Future<Void> future : futures) {
-          future.get();
+        int retries = 0;
+        for (Future<Integer> future : loaderFutures) {
+          retries += future.get();
         }
         final long endProfileLoadTs = System.nanoTime();
         final long profileLoadTime = endProfileLoadTs - startProfileLoadTs;
-        final long loadTimePerProfile = profileLoadTime / profileCounter;
+        final long loadTimePerProfile = profileLoadTime / Math.max(1, progress.getLoadedItemsCounter());
         final long profilesPerSecond = 1_000_000_000 / loadTimePerProfile;
         final long loadTimePerProfileMks = loadTimePerProfile / 1000;
 
@@ -289,12 +408,12 @@ public class PokecLoad {
         final long minutes = (profileLoadTime - hours * NANOS_IN_HOURS) / NANOS_IN_MINUTES;
         final long seconds = (profileLoadTime - hours * NANOS_IN_HOURS - minutes * NANOS_IN_MINUTES) / NANOS_IN_SECONDS;
 
-        csvPrinter.printRecord(profileCounter, loadTimePerProfileMks, profilesPerSecond);
+        csvPrinter.printRecord(profileCounter, loadTimePerProfileMks, profilesPerSecond, loadBatchSize);
         System.out
             .printf("Start loading of profiles for %s database is completed in %d h. %d m. %d s.\n", path, hours, minutes, seconds);
-        String statistics = String
-            .format("Load time per profile %d us, throughput %d profiles/s, %d profiles were processed\n", loadTimePerProfileMks,
-                profilesPerSecond, profileCounter);
+        String statistics = String.format(
+            "Load time per profile %d us, throughput %d profiles/s, %d profiles were processed, %d profiles per transaction, "
+                + "%d retries were done\n", loadTimePerProfileMks, profilesPerSecond, profileCounter, loadBatchSize, retries);
         System.out.print(statistics);
 
         return statistics;
@@ -302,7 +421,26 @@ public class PokecLoad {
     }
   }
 
-  private static void generateSchema(OrientDB orientDB, String path, String dbName, boolean isAutosharded,
+  /**
+   * Fills map of RIDs of profiles by profiles which were loaded before the load was resumed.
+   *
+   * @return Amount of loaded profiles.
+   */
+  private static int restoreRidMap(ODatabasePool pool, ProfileRidMap ridMap) {
+    int profilesCount = 0;
+
+    try (ODatabaseSession session = pool.acquire()) {
+      for (ODocument document : session.browseClass(PROFILE_CLASS)) {
+        final Integer userId = document.getProperty("user_id");
+        ridMap.put(userId, document.getIdentity());
+        profilesCount++;
+      }
+    }
+
+    return profilesCount;
+  }
+
+  static void generateSchema(OrientDB orientDB, String path, String dbName, boolean isAutosharded,
       OClass.INDEX_TYPE indexType) {
     System.out.printf("Start schema generation for %s database\n", path);
 
@@ -376,108 +514,16 @@ public class PokecLoad {
       profile.createProperty("more", OType.STRING);
 
       if (isAutosharded) {
-        profile.createIndex("user_id_index", OClass.INDEX_TYPE.UNIQUE.toString(), null, null, "AUTOSHARDING",
+        profile.createIndex(USER_ID_INDEX, OClass.INDEX_TYPE.UNIQUE.toString(), null, null, "AUTOSHARDING",
             new String[] { "user_id" });
 
-        profile.createIndex("key_index", OClass.INDEX_TYPE.UNIQUE.toString(), null, null, "AUTOSHARDING", new String[] { "key" });
+        profile.createIndex(KEY_INDEX, OClass.INDEX_TYPE.UNIQUE.toString(), null, null, "AUTOSHARDING", new String[] { "key" });
       } else {
-        profile.createIndex("user_id_index", indexType, "user_id");
-        profile.createIndex("key_index", indexType, "key");
+        profile.createIndex(USER_ID_INDEX, indexType, "user_id");
+        profile.createIndex(KEY_INDEX, indexType, "key");
       }
     }
 
     System.out.printf("Start schema generation for %s database is completed\n", path);
   }
-
-  private static PokecProfile fillPokecProfile(DateTimeFormatter dateTimeFormatter, String line) {
-    final String[] fields = line.split("\\t");
-    final PokecProfile pokecProfile = new PokecProfile();
-    pokecProfile.user_id = Integer.parseInt(fields[0]);
-    pokecProfile.public_profile = Integer.parseInt(fields[1]) == 1;
-    pokecProfile.completion_percentage = Integer.parseInt(fields[2]);
-
-    if (!fields[3].equals(NULL_STRING)) {
-      pokecProfile.gender = Integer.parseInt(fields[3]) == 1;
-    }
-
-    pokecProfile.region = fields[4];
-
-    if (!fields[5].equals(NULL_STRING)) {
-      pokecProfile.last_login = convertToDateTime(fields[5], dateTimeFormatter);
-    }
-
-    if (!fields[6].equals(NULL_STRING)) {
-      pokecProfile.registration = convertToDateTime(fields[6], dateTimeFormatter);
-    }
-
-    if (!fields[7].equals(NULL_STRING)) {
-      pokecProfile.age = Integer.parseInt(fields[7]);
-    }
-
-    pokecProfile.body = processString(fields[8]);
-    pokecProfile.i_am_working_in_field = processString(fields[9]);
-    pokecProfile.spoken_languages = processString(fields[10]);
-    pokecProfile.hobbies = processString(fields[11]);
-    pokecProfile.i_most_enjoy_good_food = processString(fields[12]);
-    pokecProfile.pets = processString(fields[13]);
-    pokecProfile.body_type = processString(fields[14]);
-    pokecProfile.my_eyesight = processString(fields[15]);
-    pokecProfile.eye_color = processString(fields[16]);
-    pokecProfile.hair_color = processString(fields[17]);
-    pokecProfile.hair_type = processString(fields[18]);
-    pokecProfile.completed_level_of_education = processString(fields[19]);
-    pokecProfile.favourite_color = processString(fields[20]);
-    pokecProfile.relation_to_smoking = processString(fields[21]);
-    pokecProfile.relation_to_alcohol = processString(fields[22]);
-    pokecProfile.sign_in_zodiac = processString(fields[23]);
-    pokecProfile.on_pokec_i_am_looking_for = processString(fields[24]);
-    pokecProfile.love_is_for_me = processString(fields[25]);
-    pokecProfile.relation_to_casual_sex = processString(fields[26]);
-    pokecProfile.my_partner_should_be = processString(fields[27]);
-    pokecProfile.marital_status = processString(fields[28]);
-    pokecProfile.children = processString(fields[29]);
-    pokecProfile.relation_to_children = processString(fields[30]);
-    pokecProfile.i_like_movies = processString(fields[31]);
-    pokecProfile.i_like_watching_movie = processString(fields[32]);
-    pokecProfile.i_like_music = processString(fields[33]);
-    pokecProfile.i_mostly_like_listening_to_music = processString(fields[34]);
-    pokecProfile.the_idea_of_good_evening = processString(fields[35]);
-    pokecProfile.i_like_specialties_from_kitchen = processString(fields[36]);
-    pokecProfile.fun = processString(fields[37]);
-    pokecProfile.i_am_going_to_concerts = processString(fields[38]);
-    pokecProfile.my_active_sports = processString(fields[39]);
-    pokecProfile.my_passive_sports = processString(fields[40]);
-    pokecProfile.profession = processString(fields[41]);
-    pokecProfile.i_like_books = processString(fields[42]);
-    pokecProfile.life_style = processString(fields[43]);
-    pokecProfile.music = processString(fields[44]);
-    pokecProfile.cars = processString(fields[45]);
-    pokecProfile.politics = processString(fields[46]);
-    pokecProfile.relationships = processString(fields[47]);
-    pokecProfile.art_culture = processString(fields[48]);
-    pokecProfile.hobbies_interests = processString(fields[49]);
-    pokecProfile.science_technologies = processString(fields[50]);
-    pokecProfile.computers_internet = processString(fields[51]);
-    pokecProfile.education = processString(fields[52]);
-    pokecProfile.sport = processString(fields[53]);
-    pokecProfile.movies = processString(fields[54]);
-    pokecProfile.travelling = processString(fields[55]);
-    pokecProfile.health = processString(fields[56]);
-    pokecProfile.companies_brands = processString(fields[57]);
-    pokecProfile.more = processString(fields[58]);
-    return pokecProfile;
-  }
-
-  private static Date convertToDateTime(String value, DateTimeFormatter dateTimeFormatter) {
-    final LocalDateTime localDate = LocalDateTime.from(dateTimeFormatter.parse(value));
-    return Date.from(localDate.atZone(ZoneId.systemDefault()).toInstant());
-  }
-
-  private static String processString(String value) {
-    if (value.equals(NULL_STRING)) {
-      return null;
-    }
-
-    return value;
-  }
 }
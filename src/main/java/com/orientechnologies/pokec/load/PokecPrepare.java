@@ -0,0 +1,87 @@
+package com.orientechnologies.pokec.load;
+
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Converts dumps of profiles and relations of Pokec dataset into {@link PokecSnapshot}. Conversion should be done only once, after
+ * that {@link PokecLoad} reads data from the snapshot instead of original dumps.
+ */
+public class PokecPrepare {
+  public static void main(String[] args) throws Exception {
+    Options options = CommandLineUtils.generateCommandLineOptions();
+
+    CommandLineParser parser = new DefaultParser();
+    try {
+      CommandLine cmd = parser.parse(options, args);
+
+      final File snapshotDirectory = CommandLineUtils.getSnapshotDirectory(cmd);
+      System.out.printf("Start conversion of pokec dumps into snapshot %s\n", snapshotDirectory);
+
+      final long startTs = System.nanoTime();
+      try (PokecSnapshotWriter snapshotWriter = new PokecSnapshotWriter(snapshotDirectory)) {
+        writeProfiles(snapshotWriter);
+        writeRelations(snapshotWriter);
+
+        snapshotWriter.complete();
+
+        final long timePassed = System.nanoTime() - startTs;
+        System.out.printf("Conversion of %d profiles and %d relations into snapshot %s is completed in %d s.\n",
+            snapshotWriter.getProfilesCount(), snapshotWriter.getRelationsCount(), snapshotDirectory, timePassed / 1_000_000_000);
+      }
+    } catch (ParseException pe) {
+      System.out.println(pe.getMessage());
+    }
+  }
+
+  private static void writeProfiles(PokecSnapshotWriter snapshotWriter) throws IOException {
+    final PokecLineParser lineParser = new PokecLineParser();
+    final List<PokecProfile> profiles = new ArrayList<>();
+
+    try (FileInputStream fileInputStream = new FileInputStream(PokecLoad.DEFAULT_PROFILES_FILE)) {
+      try (GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream, 64 * 1024)) {
+        final ProfileChunkReader chunkReader = new ProfileChunkReader(gzipInputStream);
+
+        ProfileChunk chunk;
+        while ((chunk = chunkReader.readChunk()) != null) {
+          PokecProfileParser.parseChunk(lineParser, chunk, 0, profiles);
+
+          for (PokecProfile pokecProfile : profiles) {
+            snapshotWriter.addProfile(pokecProfile);
+          }
+
+          profiles.clear();
+          System.out.printf("%d profiles were converted\n", snapshotWriter.getProfilesCount());
+        }
+      }
+    }
+  }
+
+  private static void writeRelations(PokecSnapshotWriter snapshotWriter) throws IOException {
+    try (FileInputStream fileInputStream = new FileInputStream(PokecLoad.DEFAULT_RELATIONS_FILE)) {
+      try (GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream, 64 * 1024)) {
+        final PokecRelationsReader relationsReader = new PokecRelationsReader(gzipInputStream);
+
+        final int[] relation = new int[2];
+        while (relationsReader.readRelation(relation)) {
+          snapshotWriter.addRelation(relation[0], relation[1]);
+
+          if (snapshotWriter.getRelationsCount() % 1_000_000 == 0) {
+            System.out.printf("%d relations were converted\n", snapshotWriter.getRelationsCount());
+          }
+        }
+      }
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.util.Date;
 
 final class PokecProfile {
   String key;
+  int    index;
 
   int     user_id;
   boolean public_profile;
@@ -1,94 +1,80 @@
 package com.orientechnologies.pokec.load;
 
+import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.record.OVertex;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 
-public class PokecProfileLoader implements Callable<Void> {
-  private final ODatabasePool                    pool;
-  private final ArrayBlockingQueue<PokecProfile> profileQueue;
+public class PokecProfileLoader implements Callable<Integer> {
+  static final List<PokecProfile> END_OF_PROFILES = Collections.emptyList();
 
-  PokecProfileLoader(ODatabasePool pool, ArrayBlockingQueue<PokecProfile> profileQueue) {
+  private final ODatabasePool                          pool;
+  private final ArrayBlockingQueue<List<PokecProfile>> batchQueue;
+  private final ProfileRidMap                          ridMap;
+  private final int                                    batchSize;
+  private final LoadProgress                           progress;
+  private final LoadCheckpoint                         checkpoint;
+
+  private int retries;
+
+  /**
+   * @param batchSize Maximum amount of profiles which are stored in single transaction.
+   */
+  PokecProfileLoader(ODatabasePool pool, ArrayBlockingQueue<List<PokecProfile>> batchQueue, ProfileRidMap ridMap, int batchSize,
+      LoadProgress progress, LoadCheckpoint checkpoint) {
     this.pool = pool;
-    this.profileQueue = profileQueue;
+    this.batchQueue = batchQueue;
+    this.ridMap = ridMap;
+    this.batchSize = batchSize;
+    this.progress = progress;
+    this.checkpoint = checkpoint;
   }
 
   @Override
-  public Void call() throws Exception {
+  public Integer call() throws Exception {
     try {
+      final List<OVertex> vertices = new ArrayList<>(batchSize);
+
       while (true) {
-        final PokecProfile pokecProfile = profileQueue.take();
-        if (pokecProfile.user_id == -1) {
-          return null;
+        List<PokecProfile> profiles = batchQueue.take();
+        if (profiles == END_OF_PROFILES) {
+          return retries;
         }
 
-        try (ODatabaseSession session = pool.acquire()) {
-          session.begin();
-          OVertex vertex = session.newVertex("Profile");
-
-          vertex.setProperty("key", pokecProfile.key);
-          vertex.setProperty("user_id", pokecProfile.user_id);
-          vertex.setProperty("public_profile", pokecProfile.public_profile);
-          vertex.setProperty("completion_percentage", pokecProfile.completion_percentage);
-          vertex.setProperty("gender", pokecProfile.gender);
-          vertex.setProperty("region", pokecProfile.region);
-          vertex.setProperty("last_login", pokecProfile.last_login);
-          vertex.setProperty("age", pokecProfile.age);
-          vertex.setProperty("body", pokecProfile.body);
-          vertex.setProperty("i_am_working_in_field", pokecProfile.i_am_working_in_field);
-          vertex.setProperty("spoken_languages", pokecProfile.spoken_languages);
-          vertex.setProperty("hobbies", pokecProfile.hobbies);
-          vertex.setProperty("i_most_enjoy_good_food", pokecProfile.i_most_enjoy_good_food);
-          vertex.setProperty("body_type", pokecProfile.body_type);
-          vertex.setProperty("my_eyesight", pokecProfile.my_eyesight);
-          vertex.setProperty("eye_color", pokecProfile.eye_color);
-          vertex.setProperty("hair_color", pokecProfile.hair_color);
-          vertex.setProperty("hair_type", pokecProfile.hair_type);
-          vertex.setProperty("completed_level_of_education", pokecProfile.completed_level_of_education);
-          vertex.setProperty("favourite_color", pokecProfile.favourite_color);
-          vertex.setProperty("relation_to_smoking", pokecProfile.relation_to_smoking);
-          vertex.setProperty("relation_to_alcohol", pokecProfile.relation_to_alcohol);
-          vertex.setProperty("sign_in_zodiac", pokecProfile.sign_in_zodiac);
-          vertex.setProperty("on_pokec_i_am_looking_for", pokecProfile.on_pokec_i_am_looking_for);
-          vertex.setProperty("love_is_for_me", pokecProfile.love_is_for_me);
-          vertex.setProperty("relation_to_casual_sex", pokecProfile.relation_to_casual_sex);
-          vertex.setProperty("my_partner_should_be", pokecProfile.my_partner_should_be);
-          vertex.setProperty("marital_status", pokecProfile.marital_status);
-          vertex.setProperty("children", pokecProfile.children);
-          vertex.setProperty("relation_to_children", pokecProfile.relation_to_children);
-          vertex.setProperty("i_like_movies", pokecProfile.i_like_movies);
-          vertex.setProperty("i_like_watching_movie", pokecProfile.i_like_watching_movie);
-          vertex.setProperty("i_like_music", pokecProfile.i_like_music);
-          vertex.setProperty("i_mostly_like_listening_to_music", pokecProfile.i_mostly_like_listening_to_music);
-          vertex.setProperty("the_idea_of_good_evening", pokecProfile.the_idea_of_good_evening);
-          vertex.setProperty("i_like_specialties_from_kitchen", pokecProfile.i_like_specialties_from_kitchen);
-          vertex.setProperty("fun", pokecProfile.fun);
-          vertex.setProperty("i_am_going_to_concerts", pokecProfile.i_am_going_to_concerts);
-          vertex.setProperty("my_active_sports", pokecProfile.my_active_sports);
-          vertex.setProperty("my_passive_sports", pokecProfile.my_passive_sports);
-          vertex.setProperty("profession", pokecProfile.profession);
-          vertex.setProperty("i_like_books", pokecProfile.i_like_books);
-          vertex.setProperty("life_style", pokecProfile.life_style);
-          vertex.setProperty("music", pokecProfile.music);
-          vertex.setProperty("cars", pokecProfile.cars);
-          vertex.setProperty("politics", pokecProfile.politics);
-          vertex.setProperty("relationships", pokecProfile.relationships);
-          vertex.setProperty("art_culture", pokecProfile.art_culture);
-          vertex.setProperty("hobbies_interests", pokecProfile.hobbies_interests);
-          vertex.setProperty("science_technologies", pokecProfile.science_technologies);
-          vertex.setProperty("computers_internet", pokecProfile.computers_internet);
-          vertex.setProperty("education", pokecProfile.education);
-          vertex.setProperty("sport", pokecProfile.sport);
-          vertex.setProperty("movies", pokecProfile.movies);
-          vertex.setProperty("travelling", pokecProfile.travelling);
-          vertex.setProperty("health", pokecProfile.health);
-          vertex.setProperty("companies_brands", pokecProfile.companies_brands);
-          vertex.setProperty("more", pokecProfile.more);
-          vertex.save();
-          session.commit();
+        profiles = skipLoadedProfiles(profiles);
+
+        for (int batchStart = 0; batchStart < profiles.size(); batchStart += batchSize) {
+          final List<PokecProfile> batch = profiles.subList(batchStart, Math.min(batchStart + batchSize, profiles.size()));
+
+          try (ODatabaseSession session = pool.acquire()) {
+            while (true) {
+              vertices.clear();
+
+              session.begin();
+              try {
+                for (PokecProfile pokecProfile : batch) {
+                  vertices.add(createVertex(session, pokecProfile));
+                }
+                session.commit();
+                break;
+              } catch (ONeedRetryException e) {
+                retries++;
+              }
+            }
+          }
+
+          for (int i = 0; i < batch.size(); i++) {
+            ridMap.put(batch.get(i).user_id, vertices.get(i).getIdentity());
+          }
+
+          checkpoint.profilesCommitted(batch);
+          progress.itemsLoaded(batch.size());
         }
       }
     } catch (Exception e) {
@@ -96,4 +82,101 @@ public class PokecProfileLoader implements Callable<Void> {
       throw e;
     }
   }
+
+  /**
+   * Removes profiles which were committed before the load was resumed.
+   */
+  private List<PokecProfile> skipLoadedProfiles(List<PokecProfile> profiles) {
+    List<PokecProfile> notLoaded = null;
+    List<PokecProfile> loaded = null;
+
+    for (int i = 0; i < profiles.size(); i++) {
+      final PokecProfile pokecProfile = profiles.get(i);
+
+      if (ridMap.contains(pokecProfile.user_id)) {
+        if (loaded == null) {
+          notLoaded = new ArrayList<>(profiles.subList(0, i));
+          loaded = new ArrayList<>();
+        }
+
+        loaded.add(pokecProfile);
+      } else if (notLoaded != null) {
+        notLoaded.add(pokecProfile);
+      }
+    }
+
+    if (loaded == null) {
+      return profiles;
+    }
+
+    checkpoint.profilesCommitted(loaded);
+    progress.itemsSkipped(loaded.size());
+
+    return notLoaded;
+  }
+
+  static OVertex createVertex(ODatabaseSession session, PokecProfile pokecProfile) {
+    OVertex vertex = session.newVertex("Profile");
+
+    vertex.setProperty("key", pokecProfile.key);
+    vertex.setProperty("user_id", pokecProfile.user_id);
+    vertex.setProperty("public_profile", pokecProfile.public_profile);
+    vertex.setProperty("completion_percentage", pokecProfile.completion_percentage);
+    vertex.setProperty("gender", pokecProfile.gender);
+    vertex.setProperty("region", pokecProfile.region);
+    vertex.setProperty("last_login", pokecProfile.last_login);
+    vertex.setProperty("age", pokecProfile.age);
+    vertex.setProperty("body", pokecProfile.body);
+    vertex.setProperty("i_am_working_in_field", pokecProfile.i_am_working_in_field);
+    vertex.setProperty("spoken_languages", pokecProfile.spoken_languages);
+    vertex.setProperty("hobbies", pokecProfile.hobbies);
+    vertex.setProperty("i_most_enjoy_good_food", pokecProfile.i_most_enjoy_good_food);
+    vertex.setProperty("body_type", pokecProfile.body_type);
+    vertex.setProperty("my_eyesight", pokecProfile.my_eyesight);
+    vertex.setProperty("eye_color", pokecProfile.eye_color);
+    vertex.setProperty("hair_color", pokecProfile.hair_color);
+    vertex.setProperty("hair_type", pokecProfile.hair_type);
+    vertex.setProperty("completed_level_of_education", pokecProfile.completed_level_of_education);
+    vertex.setProperty("favourite_color", pokecProfile.favourite_color);
+    vertex.setProperty("relation_to_smoking", pokecProfile.relation_to_smoking);
+    vertex.setProperty("relation_to_alcohol", pokecProfile.relation_to_alcohol);
+    vertex.setProperty("sign_in_zodiac", pokecProfile.sign_in_zodiac);
+    vertex.setProperty("on_pokec_i_am_looking_for", pokecProfile.on_pokec_i_am_looking_for);
+    vertex.setProperty("love_is_for_me", pokecProfile.love_is_for_me);
+    vertex.setProperty("relation_to_casual_sex", pokecProfile.relation_to_casual_sex);
+    vertex.setProperty("my_partner_should_be", pokecProfile.my_partner_should_be);
+    vertex.setProperty("marital_status", pokecProfile.marital_status);
+    vertex.setProperty("children", pokecProfile.children);
+    vertex.setProperty("relation_to_children", pokecProfile.relation_to_children);
+    vertex.setProperty("i_like_movies", pokecProfile.i_like_movies);
+    vertex.setProperty("i_like_watching_movie", pokecProfile.i_like_watching_movie);
+    vertex.setProperty("i_like_music", pokecProfile.i_like_music);
+    vertex.setProperty("i_mostly_like_listening_to_music", pokecProfile.i_mostly_like_listening_to_music);
+    vertex.setProperty("the_idea_of_good_evening", pokecProfile.the_idea_of_good_evening);
+    vertex.setProperty("i_like_specialties_from_kitchen", pokecProfile.i_like_specialties_from_kitchen);
+    vertex.setProperty("fun", pokecProfile.fun);
+    vertex.setProperty("i_am_going_to_concerts", pokecProfile.i_am_going_to_concerts);
+    vertex.setProperty("my_active_sports", pokecProfile.my_active_sports);
+    vertex.setProperty("my_passive_sports", pokecProfile.my_passive_sports);
+    vertex.setProperty("profession", pokecProfile.profession);
+    vertex.setProperty("i_like_books", pokecProfile.i_like_books);
+    vertex.setProperty("life_style", pokecProfile.life_style);
+    vertex.setProperty("music", pokecProfile.music);
+    vertex.setProperty("cars", pokecProfile.cars);
+    vertex.setProperty("politics", pokecProfile.politics);
+    vertex.setProperty("relationships", pokecProfile.relationships);
+    vertex.setProperty("art_culture", pokecProfile.art_culture);
+    vertex.setProperty("hobbies_interests", pokecProfile.hobbies_interests);
+    vertex.setProperty("science_technologies", pokecProfile.science_technologies);
+    vertex.setProperty("computers_internet", pokecProfile.computers_internet);
+    vertex.setProperty("education", pokecProfile.education);
+    vertex.setProperty("sport", pokecProfile.sport);
+    vertex.setProperty("movies", pokecProfile.movies);
+    vertex.setProperty("travelling", pokecProfile.travelling);
+    vertex.setProperty("health", pokecProfile.health);
+    vertex.setProperty("companies_brands", pokecProfile.companies_brands);
+    vertex.setProperty("more", pokecProfile.more);
+    vertex.save();
+    return vertex;
+  }
 }
@@ -0,0 +1,84 @@
+package com.orientechnologies.pokec.load;
+
+import com.orientechnologies.pokec.common.FNVHash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Converts chunks of lines of profiles dump into batches of profiles which are consumed by {@link PokecProfileLoader}.
+ */
+public class PokecProfileParser implements Callable<Void> {
+  private final ArrayBlockingQueue<ProfileChunk>       chunkQueue;
+  private final ArrayBlockingQueue<List<PokecProfile>> batchQueue;
+  private final int                                    firstProfile;
+
+  private final PokecLineParser lineParser = new PokecLineParser();
+
+  /**
+   * @param firstProfile Index of the first profile which should be parsed, all previous profiles are already loaded.
+   */
+  PokecProfileParser(ArrayBlockingQueue<ProfileChunk> chunkQueue, ArrayBlockingQueue<List<PokecProfile>> batchQueue,
+      int firstProfile) {
+    this.chunkQueue = chunkQueue;
+    this.batchQueue = batchQueue;
+    this.firstProfile = firstProfile;
+  }
+
+  @Override
+  public Void call() throws Exception {
+    try {
+      while (true) {
+        final ProfileChunk chunk = chunkQueue.take();
+        if (chunk == ProfileChunk.END) {
+          return null;
+        }
+
+        final List<PokecProfile> batch = new ArrayList<>();
+        parseChunk(lineParser, chunk, firstProfile, batch);
+
+        if (!batch.isEmpty()) {
+          batchQueue.put(batch);
+        }
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw e;
+    }
+  }
+
+  /**
+   * Parses lines of the chunk and adds parsed profiles to the passed in list in the order of lines.
+   *
+   * @param firstProfile Index of the first profile which should be parsed, lines of previous profiles are skipped.
+   */
+  static void parseChunk(PokecLineParser lineParser, ProfileChunk chunk, int firstProfile, List<PokecProfile> profiles) {
+    final byte[] data = chunk.data;
+
+    int profileIndex = chunk.firstProfileIndex;
+    int lineStart = 0;
+    while (lineStart < chunk.length) {
+      int lineEnd = lineStart;
+      while (lineEnd < chunk.length && data[lineEnd] != '\n') {
+        lineEnd++;
+      }
+
+      int lineLength = lineEnd - lineStart;
+      if (lineLength > 0 && data[lineEnd - 1] == '\r') {
+        lineLength--;
+      }
+
+      if (profileIndex >= firstProfile) {
+        final PokecProfile pokecProfile = lineParser.parseProfile(data, lineStart, lineStart + lineLength);
+        pokecProfile.key = "key" + FNVHash.FNVhash64(profileIndex);
+        pokecProfile.index = profileIndex;
+        profiles.add(pokecProfile);
+      }
+
+      profileIndex++;
+      lineStart = lineEnd + 1;
+    }
+  }
+}
@@ -3,6 +3,10 @@ package com.orientechnologies.pokec.load;
 import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.ODirection;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.record.OVertex;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
@@ -10,10 +14,26 @@ import java.util.concurrent.Callable;
 public class PokecRelationsLoader implements Callable<Integer> {
   private final ArrayBlockingQueue<int[]> relationsQueue;
   private final ODatabasePool             pool;
+  private final ProfileRidMap             ridMap;
+  private final LoadProgress              progress;
+  private final LoadCheckpoint            checkpoint;
+  private final int                       queueIndex;
 
-  PokecRelationsLoader(ArrayBlockingQueue<int[]> relationsQueue, ODatabasePool pool) {
+  private boolean checkExistingRelations;
+
+  /**
+   * @param checkExistingRelations Whether load was resumed, in such case relations which were committed after the last save of
+   *                               checkpoint are skipped till the first relation which does not exist in the database.
+   */
+  PokecRelationsLoader(ArrayBlockingQueue<int[]> relationsQueue, ODatabasePool pool, ProfileRidMap ridMap,
+      LoadProgress progress, LoadCheckpoint checkpoint, int queueIndex, boolean checkExistingRelations) {
     this.relationsQueue = relationsQueue;
     this.pool = pool;
+    this.ridMap = ridMap;
+    this.progress = progress;
+    this.checkpoint = checkpoint;
+    this.queueIndex = queueIndex;
+    this.checkExistingRelations = checkExistingRelations;
   }
 
   @Override
@@ -26,12 +46,38 @@ public class PokecRelationsLoader implements Callable<Integer> {
         return retries;
       }
 
+      final ORID fromRid = ridMap.get(relation[0]);
+      if (fromRid == null) {
+        throw new IllegalStateException("Profile with id " + relation[0] + " is not loaded");
+      }
+
+      final ORID toRid = ridMap.get(relation[1]);
+      if (toRid == null) {
+        throw new IllegalStateException("Profile with id " + relation[1] + " is not loaded");
+      }
+
       try (ODatabaseSession databaseSession = pool.acquire()) {
+        if (checkExistingRelations) {
+          if (relationExists(databaseSession, fromRid, toRid)) {
+            checkpoint.relationCommitted(queueIndex);
+            progress.itemsSkipped(1);
+            continue;
+          }
+
+          checkExistingRelations = false;
+        }
+
         while (true) {
           try {
-            databaseSession
-                .command("create edge from (select from Profile where user_id=?) to (select from Profile where user_id=?)",
-                    relation[0], relation[1]).close();
+            databaseSession.begin();
+
+            final OVertex from = loadVertex(databaseSession, fromRid);
+            final OVertex to = loadVertex(databaseSession, toRid);
+            databaseSession.newEdge(from, to).save();
+
+            databaseSession.commit();
+            checkpoint.relationCommitted(queueIndex);
+            progress.itemsLoaded(1);
             break;
           } catch (ONeedRetryException e) {
             retries++;
@@ -41,4 +87,20 @@ public class PokecRelationsLoader implements Callable<Integer> {
       }
     }
   }
+
+  private static boolean relationExists(ODatabaseSession databaseSession, ORID fromRid, ORID toRid) {
+    final OVertex from = loadVertex(databaseSession, fromRid);
+    for (OVertex vertex : from.getVertices(ODirection.OUT)) {
+      if (vertex.getIdentity().equals(toRid)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static OVertex loadVertex(ODatabaseSession databaseSession, ORID rid) {
+    final OElement element = databaseSession.load(rid);
+    return element.asVertex().orElseThrow(() -> new IllegalStateException("Record " + rid + " is not a vertex"));
+  }
 }
@@ -0,0 +1,95 @@
+package com.orientechnologies.pokec.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads pairs of ids of related profiles from relations dump. Ids are parsed directly from the bytes of the dump, so no strings are
+ * created during reading.
+ */
+final class PokecRelationsReader {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream inputStream;
+  private final byte[]      buffer = new byte[BUFFER_SIZE];
+
+  private int  position;
+  private int  limit;
+  private long lineNumber;
+
+  PokecRelationsReader(InputStream inputStream) {
+    this.inputStream = inputStream;
+  }
+
+  /**
+   * Reads next relation from the dump.
+   *
+   * @param relation Array into which ids of source and target profiles are written.
+   *
+   * @return <code>false</code> if end of the dump is reached.
+   */
+  boolean readRelation(int[] relation) throws IOException {
+    int fieldIndex = 0;
+    int value = 0;
+    boolean hasDigits = false;
+
+    while (true) {
+      if (position == limit) {
+        limit = inputStream.read(buffer);
+        position = 0;
+
+        if (limit < 0) {
+          limit = 0;
+
+          if (fieldIndex == 0 && !hasDigits) {
+            return false;
+          }
+
+          return completeRelation(relation, fieldIndex, hasDigits, value);
+        }
+
+        continue;
+      }
+
+      final byte b = buffer[position++];
+      if (b >= '0' && b <= '9') {
+        value = value * 10 + (b - '0');
+        hasDigits = true;
+      } else if (b == '\t') {
+        if (fieldIndex != 0 || !hasDigits) {
+          throw invalidLine();
+        }
+
+        relation[0] = value;
+        fieldIndex = 1;
+        value = 0;
+        hasDigits = false;
+      } else if (b == '\n') {
+        if (fieldIndex == 0 && !hasDigits) {
+          //skip empty line
+          lineNumber++;
+          continue;
+        }
+
+        return completeRelation(relation, fieldIndex, hasDigits, value);
+      } else if (b != '\r') {
+        throw invalidLine();
+      }
+    }
+  }
+
+  private boolean completeRelation(int[] relation, int fieldIndex, boolean hasDigits, int value) {
+    if (fieldIndex != 1 || !hasDigits) {
+      throw invalidLine();
+    }
+
+    relation[1] = value;
+    lineNumber++;
+
+    return true;
+  }
+
+  private IllegalStateException invalidLine() {
+    return new IllegalStateException("Invalid relation at line " + (lineNumber + 1) + " of relations dump");
+  }
+}
@@ -0,0 +1,356 @@
+package com.orientechnologies.pokec.load;
+
+import com.orientechnologies.pokec.common.FNVHash;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Columnar binary snapshot of Pokec dataset which is created by {@link PokecPrepare} and read by {@link PokecLoad} through memory
+ * mapped files, so repeated loads of data do not need to decompress and parse original dumps.
+ * <p>
+ * Snapshot is a directory which contains a file per fixed width column of profiles, index of profile is equal to the index of
+ * the value in the column. Absent values of <code>gender</code>, <code>age</code>, <code>last_login</code> and
+ * <code>registration</code> columns are stored as {@link #NULL_BYTE}, {@link #NULL_INT} and {@link #NULL_DATE} correspondingly.
+ * String columns are stored in a single heap of UTF-8 encoded bytes, for each profile {@link #STRING_COLUMNS} strings are stored
+ * one after another. Index of strings contains offset of the end of each string in the heap prefixed by zero, offset of the string
+ * which is equal to <code>null</code> is stored as <code>-offset - 1</code>. Relations are stored as packed pairs of ids of
+ * related profiles. Information about amount of profiles and relations is written last, so snapshot is considered to exist only
+ * if it was completely written.
+ */
+final class PokecSnapshot implements Closeable {
+  private static final int MAGIC   = 0x504B534E;
+  private static final int VERSION = 1;
+
+  static final String INFO_FILE                  = "snapshot.info";
+  static final String USER_ID_FILE               = "user_id.col";
+  static final String PUBLIC_PROFILE_FILE        = "public_profile.col";
+  static final String COMPLETION_PERCENTAGE_FILE = "completion_percentage.col";
+  static final String GENDER_FILE                = "gender.col";
+  static final String AGE_FILE                   = "age.col";
+  static final String LAST_LOGIN_FILE            = "last_login.col";
+  static final String REGISTRATION_FILE          = "registration.col";
+  static final String STRING_INDEX_FILE          = "strings.idx";
+  static final String STRING_HEAP_FILE           = "strings.heap";
+  static final String RELATIONS_FILE             = "relations.bin";
+
+  static final byte NULL_BYTE = -1;
+  static final int  NULL_INT  = Integer.MIN_VALUE;
+  static final long NULL_DATE = Long.MIN_VALUE;
+
+  static final int STRING_COLUMNS = 52;
+
+  private final File directory;
+  private final int  profilesCount;
+  private final long relationsCount;
+
+  private final FileChannel userIdChannel;
+  private final FileChannel publicProfileChannel;
+  private final FileChannel completionPercentageChannel;
+  private final FileChannel genderChannel;
+  private final FileChannel ageChannel;
+  private final FileChannel lastLoginChannel;
+  private final FileChannel registrationChannel;
+  private final FileChannel stringIndexChannel;
+  private final FileChannel stringHeapChannel;
+  private final FileChannel relationsChannel;
+
+  private PokecSnapshot(File directory, int profilesCount, long relationsCount) throws IOException {
+    this.directory = directory;
+    this.profilesCount = profilesCount;
+    this.relationsCount = relationsCount;
+
+    this.userIdChannel = openChannel(USER_ID_FILE);
+    this.publicProfileChannel = openChannel(PUBLIC_PROFILE_FILE);
+    this.completionPercentageChannel = openChannel(COMPLETION_PERCENTAGE_FILE);
+    this.genderChannel = openChannel(GENDER_FILE);
+    this.ageChannel = openChannel(AGE_FILE);
+    this.lastLoginChannel = openChannel(LAST_LOGIN_FILE);
+    this.registrationChannel = openChannel(REGISTRATION_FILE);
+    this.stringIndexChannel = openChannel(STRING_INDEX_FILE);
+    this.stringHeapChannel = openChannel(STRING_HEAP_FILE);
+    this.relationsChannel = openChannel(RELATIONS_FILE);
+  }
+
+  static boolean exists(File directory) {
+    return new File(directory, INFO_FILE).exists();
+  }
+
+  static PokecSnapshot open(File directory) throws IOException {
+    try (DataInputStream infoStream = new DataInputStream(new FileInputStream(new File(directory, INFO_FILE)))) {
+      final int magic = infoStream.readInt();
+      final int version = infoStream.readInt();
+
+      if (magic != MAGIC || version != VERSION) {
+        throw new IllegalStateException("Directory " + directory + " does not contain snapshot of supported version");
+      }
+
+      final int profilesCount = infoStream.readInt();
+      final long relationsCount = infoStream.readLong();
+
+      return new PokecSnapshot(directory, profilesCount, relationsCount);
+    }
+  }
+
+  static void writeInfo(File directory, int profilesCount, long relationsCount) throws IOException {
+    try (DataOutputStream infoStream = new DataOutputStream(new FileOutputStream(new File(directory, INFO_FILE)))) {
+      infoStream.writeInt(MAGIC);
+      infoStream.writeInt(VERSION);
+      infoStream.writeInt(profilesCount);
+      infoStream.writeLong(relationsCount);
+    }
+  }
+
+  File getDirectory() {
+    return directory;
+  }
+
+  int getProfilesCount() {
+    return profilesCount;
+  }
+
+  long getRelationsCount() {
+    return relationsCount;
+  }
+
+  /**
+   * Reads profiles with indexes in range <code>[firstProfile, firstProfile + count)</code>, keys of profiles are generated from
+   * their indexes. Method may be called by several threads concurrently.
+   */
+  List<PokecProfile> readProfiles(int firstProfile, int count) throws IOException {
+    final MappedByteBuffer userIds = map(userIdChannel, (long) firstProfile * Integer.BYTES, count * Integer.BYTES);
+    final MappedByteBuffer publicProfiles = map(publicProfileChannel, firstProfile, count);
+    final MappedByteBuffer completionPercentages = map(completionPercentageChannel, (long) firstProfile * Integer.BYTES,
+        count * Integer.BYTES);
+    final MappedByteBuffer genders = map(genderChannel, firstProfile, count);
+    final MappedByteBuffer ages = map(ageChannel, (long) firstProfile * Integer.BYTES, count * Integer.BYTES);
+    final MappedByteBuffer lastLogins = map(lastLoginChannel, (long) firstProfile * Long.BYTES, count * Long.BYTES);
+    final MappedByteBuffer registrations = map(registrationChannel, (long) firstProfile * Long.BYTES, count * Long.BYTES);
+    final MappedByteBuffer stringIndex = map(stringIndexChannel, (long) firstProfile * STRING_COLUMNS * Long.BYTES,
+        (count * STRING_COLUMNS + 1) * Long.BYTES);
+
+    final long heapStart = stringOffset(stringIndex.getLong(0));
+    final long heapEnd = stringOffset(stringIndex.getLong(count * STRING_COLUMNS * Long.BYTES));
+    final MappedByteBuffer heap = map(stringHeapChannel, heapStart, (int) (heapEnd - heapStart));
+
+    final List<PokecProfile> profiles = new ArrayList<>(count);
+    final String[] strings = new String[STRING_COLUMNS];
+    byte[] stringBytes = new byte[1024];
+
+    for (int i = 0; i < count; i++) {
+      final PokecProfile pokecProfile = new PokecProfile();
+
+      pokecProfile.key = "key" + FNVHash.FNVhash64(firstProfile + i);
+      pokecProfile.index = firstProfile + i;
+      pokecProfile.user_id = userIds.getInt(i * Integer.BYTES);
+      pokecProfile.public_profile = publicProfiles.get(i) == 1;
+      pokecProfile.completion_percentage = completionPercentages.getInt(i * Integer.BYTES);
+
+      final byte gender = genders.get(i);
+      if (gender != NULL_BYTE) {
+        pokecProfile.gender = gender == 1;
+      }
+
+      final int age = ages.getInt(i * Integer.BYTES);
+      if (age != NULL_INT) {
+        pokecProfile.age = age;
+      }
+
+      final long lastLogin = lastLogins.getLong(i * Long.BYTES);
+      if (lastLogin != NULL_DATE) {
+        pokecProfile.last_login = new Date(lastLogin);
+      }
+
+      final long registration = registrations.getLong(i * Long.BYTES);
+      if (registration != NULL_DATE) {
+        pokecProfile.registration = new Date(registration);
+      }
+
+      for (int n = 0; n < STRING_COLUMNS; n++) {
+        final int cell = i * STRING_COLUMNS + n;
+        final long start = stringOffset(stringIndex.getLong(cell * Long.BYTES));
+        final long end = stringIndex.getLong((cell + 1) * Long.BYTES);
+
+        if (end < 0) {
+          strings[n] = null;
+        } else {
+          final int length = (int) (end - start);
+          if (stringBytes.length < length) {
+            stringBytes = new byte[Math.max(length, 2 * stringBytes.length)];
+          }
+
+          heap.position((int) (start - heapStart));
+          heap.get(stringBytes, 0, length);
+          strings[n] = new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+        }
+      }
+
+      setStrings(pokecProfile, strings);
+      profiles.add(pokecProfile);
+    }
+
+    return profiles;
+  }
+
+  /**
+   * Maps relations with indexes in range <code>[firstRelation, firstRelation + count)</code>. Each relation is presented by a pair
+   * of ids of source and target profiles. Method may be called by several threads concurrently.
+   */
+  IntBuffer mapRelations(long firstRelation, int count) throws IOException {
+    return map(relationsChannel, firstRelation * 2 * Integer.BYTES, count * 2 * Integer.BYTES).asIntBuffer();
+  }
+
+  @Override
+  public void close() throws IOException {
+    userIdChannel.close();
+    publicProfileChannel.close();
+    completionPercentageChannel.close();
+    genderChannel.close();
+    ageChannel.close();
+    lastLoginChannel.close();
+    registrationChannel.close();
+    stringIndexChannel.close();
+    stringHeapChannel.close();
+    relationsChannel.close();
+  }
+
+  /**
+   * Fills passed in array by values of string columns of profile in the order in which they are stored in the snapshot.
+   */
+  static void getStrings(PokecProfile pokecProfile, String[] strings) {
+    int n = 0;
+    strings[n++] = pokecProfile.region;
+    strings[n++] = pokecProfile.body;
+    strings[n++] = pokecProfile.i_am_working_in_field;
+    strings[n++] = pokecProfile.spoken_languages;
+    strings[n++] = pokecProfile.hobbies;
+    strings[n++] = pokecProfile.i_most_enjoy_good_food;
+    strings[n++] = pokecProfile.pets;
+    strings[n++] = pokecProfile.body_type;
+    strings[n++] = pokecProfile.my_eyesight;
+    strings[n++] = pokecProfile.eye_color;
+    strings[n++] = pokecProfile.hair_color;
+    strings[n++] = pokecProfile.hair_type;
+    strings[n++] = pokecProfile.completed_level_of_education;
+    strings[n++] = pokecProfile.favourite_color;
+    strings[n++] = pokecProfile.relation_to_smoking;
+    strings[n++] = pokecProfile.relation_to_alcohol;
+    strings[n++] = pokecProfile.sign_in_zodiac;
+    strings[n++] = pokecProfile.on_pokec_i_am_looking_for;
+    strings[n++] = pokecProfile.love_is_for_me;
+    strings[n++] = pokecProfile.relation_to_casual_sex;
+    strings[n++] = pokecProfile.my_partner_should_be;
+    strings[n++] = pokecProfile.marital_status;
+    strings[n++] = pokecProfile.children;
+    strings[n++] = pokecProfile.relation_to_children;
+    strings[n++] = pokecProfile.i_like_movies;
+    strings[n++] = pokecProfile.i_like_watching_movie;
+    strings[n++] = pokecProfile.i_like_music;
+    strings[n++] = pokecProfile.i_mostly_like_listening_to_music;
+    strings[n++] = pokecProfile.the_idea_of_good_evening;
+    strings[n++] = pokecProfile.i_like_specialties_from_kitchen;
+    strings[n++] = pokecProfile.fun;
+    strings[n++] = pokecProfile.i_am_going_to_concerts;
+    strings[n++] = pokecProfile.my_active_sports;
+    strings[n++] = pokecProfile.my_passive_sports;
+    strings[n++] = pokecProfile.profession;
+    strings[n++] = pokecProfile.i_like_books;
+    strings[n++] = pokecProfile.life_style;
+    strings[n++] = pokecProfile.music;
+    strings[n++] = pokecProfile.cars;
+    strings[n++] = pokecProfile.politics;
+    strings[n++] = pokecProfile.relationships;
+    strings[n++] = pokecProfile.art_culture;
+    strings[n++] = pokecProfile.hobbies_interests;
+    strings[n++] = pokecProfile.science_technologies;
+    strings[n++] = pokecProfile.computers_internet;
+    strings[n++] = pokecProfile.education;
+    strings[n++] = pokecProfile.sport;
+    strings[n++] = pokecProfile.movies;
+    strings[n++] = pokecProfile.travelling;
+    strings[n++] = pokecProfile.health;
+    strings[n++] = pokecProfile.companies_brands;
+    strings[n] = pokecProfile.more;
+  }
+
+  private static void setStrings(PokecProfile pokecProfile, String[] strings) {
+    int n = 0;
+    pokecProfile.region = strings[n++];
+    pokecProfile.body = strings[n++];
+    pokecProfile.i_am_working_in_field = strings[n++];
+    pokecProfile.spoken_languages = strings[n++];
+    pokecProfile.hobbies = strings[n++];
+    pokecProfile.i_most_enjoy_good_food = strings[n++];
+    pokecProfile.pets = strings[n++];
+    pokecProfile.body_type = strings[n++];
+    pokecProfile.my_eyesight = strings[n++];
+    pokecProfile.eye_color = strings[n++];
+    pokecProfile.hair_color = strings[n++];
+    pokecProfile.hair_type = strings[n++];
+    pokecProfile.completed_level_of_education = strings[n++];
+    pokecProfile.favourite_color = strings[n++];
+    pokecProfile.relation_to_smoking = strings[n++];
+    pokecProfile.relation_to_alcohol = strings[n++];
+    pokecProfile.sign_in_zodiac = strings[n++];
+    pokecProfile.on_pokec_i_am_looking_for = strings[n++];
+    pokecProfile.love_is_for_me = strings[n++];
+    pokecProfile.relation_to_casual_sex = strings[n++];
+    pokecProfile.my_partner_should_be = strings[n++];
+    pokecProfile.marital_status = strings[n++];
+    pokecProfile.children = strings[n++];
+    pokecProfile.relation_to_children = strings[n++];
+    pokecProfile.i_like_movies = strings[n++];
+    pokecProfile.i_like_watching_movie = strings[n++];
+    pokecProfile.i_like_music = strings[n++];
+    pokecProfile.i_mostly_like_listening_to_music = strings[n++];
+    pokecProfile.the_idea_of_good_evening = strings[n++];
+    pokecProfile.i_like_specialties_from_kitchen = strings[n++];
+    pokecProfile.fun = strings[n++];
+    pokecProfile.i_am_going_to_concerts = strings[n++];
+    pokecProfile.my_active_sports = strings[n++];
+    pokecProfile.my_passive_sports = strings[n++];
+    pokecProfile.profession = strings[n++];
+    pokecProfile.i_like_books = strings[n++];
+    pokecProfile.life_style = strings[n++];
+    pokecProfile.music = strings[n++];
+    pokecProfile.cars = strings[n++];
+    pokecProfile.politics = strings[n++];
+    pokecProfile.relationships = strings[n++];
+    pokecProfile.art_culture = strings[n++];
+    pokecProfile.hobbies_interests = strings[n++];
+    pokecProfile.science_technologies = strings[n++];
+    pokecProfile.computers_internet = strings[n++];
+    pokecProfile.education = strings[n++];
+    pokecProfile.sport = strings[n++];
+    pokecProfile.movies = strings[n++];
+    pokecProfile.travelling = strings[n++];
+    pokecProfile.health = strings[n++];
+    pokecProfile.companies_brands = strings[n++];
+    pokecProfile.more = strings[n];
+  }
+
+  private static long stringOffset(long indexEntry) {
+    return indexEntry < 0 ? -indexEntry - 1 : indexEntry;
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long position, int size) throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+  }
+
+  private FileChannel openChannel(String fileName) throws IOException {
+    return FileChannel.open(new File(directory, fileName).toPath(), StandardOpenOption.READ);
+  }
+}
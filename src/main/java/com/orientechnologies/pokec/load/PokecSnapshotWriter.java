@@ -0,0 +1,148 @@
+package com.orientechnologies.pokec.load;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes profiles and relations into the files of {@link PokecSnapshot}. Profiles and relations should be added in the order of
+ * their appearance in original dumps.
+ */
+final class PokecSnapshotWriter implements Closeable {
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  private final File directory;
+
+  private final DataOutputStream userIdStream;
+  private final DataOutputStream publicProfileStream;
+  private final DataOutputStream completionPercentageStream;
+  private final DataOutputStream genderStream;
+  private final DataOutputStream ageStream;
+  private final DataOutputStream lastLoginStream;
+  private final DataOutputStream registrationStream;
+  private final DataOutputStream stringIndexStream;
+  private final DataOutputStream stringHeapStream;
+  private final DataOutputStream relationsStream;
+
+  private final String[] strings = new String[PokecSnapshot.STRING_COLUMNS];
+
+  private int  profilesCount;
+  private long relationsCount;
+  private long heapSize;
+
+  PokecSnapshotWriter(File directory) throws IOException {
+    this.directory = directory;
+
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Can not create directory " + directory);
+    }
+
+    final File infoFile = new File(directory, PokecSnapshot.INFO_FILE);
+    if (infoFile.exists() && !infoFile.delete()) {
+      throw new IOException("Can not delete file " + infoFile);
+    }
+
+    this.userIdStream = openStream(PokecSnapshot.USER_ID_FILE);
+    this.publicProfileStream = openStream(PokecSnapshot.PUBLIC_PROFILE_FILE);
+    this.completionPercentageStream = openStream(PokecSnapshot.COMPLETION_PERCENTAGE_FILE);
+    this.genderStream = openStream(PokecSnapshot.GENDER_FILE);
+    this.ageStream = openStream(PokecSnapshot.AGE_FILE);
+    this.lastLoginStream = openStream(PokecSnapshot.LAST_LOGIN_FILE);
+    this.registrationStream = openStream(PokecSnapshot.REGISTRATION_FILE);
+    this.stringIndexStream = openStream(PokecSnapshot.STRING_INDEX_FILE);
+    this.stringHeapStream = openStream(PokecSnapshot.STRING_HEAP_FILE);
+    this.relationsStream = openStream(PokecSnapshot.RELATIONS_FILE);
+
+    stringIndexStream.writeLong(0);
+  }
+
+  void addProfile(PokecProfile pokecProfile) throws IOException {
+    userIdStream.writeInt(pokecProfile.user_id);
+    publicProfileStream.writeByte(pokecProfile.public_profile ? 1 : 0);
+    completionPercentageStream.writeInt(pokecProfile.completion_percentage);
+
+    if (pokecProfile.gender == null) {
+      genderStream.writeByte(PokecSnapshot.NULL_BYTE);
+    } else {
+      genderStream.writeByte(pokecProfile.gender ? 1 : 0);
+    }
+
+    if (pokecProfile.age == null) {
+      ageStream.writeInt(PokecSnapshot.NULL_INT);
+    } else {
+      ageStream.writeInt(pokecProfile.age);
+    }
+
+    if (pokecProfile.last_login == null) {
+      lastLoginStream.writeLong(PokecSnapshot.NULL_DATE);
+    } else {
+      lastLoginStream.writeLong(pokecProfile.last_login.getTime());
+    }
+
+    if (pokecProfile.registration == null) {
+      registrationStream.writeLong(PokecSnapshot.NULL_DATE);
+    } else {
+      registrationStream.writeLong(pokecProfile.registration.getTime());
+    }
+
+    PokecSnapshot.getStrings(pokecProfile, strings);
+    for (String string : strings) {
+      if (string == null) {
+        stringIndexStream.writeLong(-heapSize - 1);
+      } else {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        stringHeapStream.write(bytes);
+        heapSize += bytes.length;
+
+        stringIndexStream.writeLong(heapSize);
+      }
+    }
+
+    profilesCount++;
+  }
+
+  void addRelation(int from, int to) throws IOException {
+    relationsStream.writeInt(from);
+    relationsStream.writeInt(to);
+
+    relationsCount++;
+  }
+
+  int getProfilesCount() {
+    return profilesCount;
+  }
+
+  long getRelationsCount() {
+    return relationsCount;
+  }
+
+  /**
+   * Flushes all columns and writes information about snapshot, after this call snapshot is ready to be read.
+   */
+  void complete() throws IOException {
+    close();
+    PokecSnapshot.writeInfo(directory, profilesCount, relationsCount);
+  }
+
+  @Override
+  public void close() throws IOException {
+    userIdStream.close();
+    publicProfileStream.close();
+    completionPercentageStream.close();
+    genderStream.close();
+    ageStream.close();
+    lastLoginStream.close();
+    registrationStream.close();
+    stringIndexStream.close();
+    stringHeapStream.close();
+    relationsStream.close();
+  }
+
+  private DataOutputStream openStream(String fileName) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(directory, fileName)), BUFFER_SIZE));
+  }
+}
@@ -0,0 +1,19 @@
+package com.orientechnologies.pokec.load;
+
+/**
+ * Chunk of raw lines of profiles dump. Chunk always contains whole lines, index of the first profile in the chunk is assigned by
+ * the thread which reads the dump, so profile keys do not depend on the order in which chunks are parsed.
+ */
+final class ProfileChunk {
+  static final ProfileChunk END = new ProfileChunk(-1, new byte[0], 0);
+
+  final int    firstProfileIndex;
+  final byte[] data;
+  final int    length;
+
+  ProfileChunk(int firstProfileIndex, byte[] data, int length) {
+    this.firstProfileIndex = firstProfileIndex;
+    this.data = data;
+    this.length = length;
+  }
+}
@@ -0,0 +1,84 @@
+package com.orientechnologies.pokec.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits decompressed profiles dump into chunks of whole lines and assigns index of the first profile to each chunk.
+ */
+final class ProfileChunkReader {
+  private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+  private final InputStream inputStream;
+
+  private byte[]  buffer = new byte[CHUNK_SIZE];
+  private int     filled;
+  private boolean eof;
+  private int     profilesCount;
+
+  ProfileChunkReader(InputStream inputStream) {
+    this.inputStream = inputStream;
+  }
+
+  /**
+   * @return Next chunk of lines or <code>null</code> if end of the dump is reached.
+   */
+  ProfileChunk readChunk() throws IOException {
+    while (true) {
+      while (!eof && filled < buffer.length) {
+        final int read = inputStream.read(buffer, filled, buffer.length - filled);
+        if (read < 0) {
+          eof = true;
+          break;
+        }
+
+        filled += read;
+      }
+
+      int chunkLength = filled;
+      if (!eof) {
+        while (chunkLength > 0 && buffer[chunkLength - 1] != '\n') {
+          chunkLength--;
+        }
+
+        if (chunkLength == 0) {
+          //line does not fit into the buffer
+          buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+          continue;
+        }
+      }
+
+      if (chunkLength == 0) {
+        return null;
+      }
+
+      int lines = 0;
+      for (int i = 0; i < chunkLength; i++) {
+        if (buffer[i] == '\n') {
+          lines++;
+        }
+      }
+      if (buffer[chunkLength - 1] != '\n') {
+        lines++;
+      }
+
+      final ProfileChunk chunk = new ProfileChunk(profilesCount, buffer, chunkLength);
+      profilesCount += lines;
+
+      final byte[] nextBuffer = new byte[Math.max(CHUNK_SIZE, filled - chunkLength)];
+      System.arraycopy(buffer, chunkLength, nextBuffer, 0, filled - chunkLength);
+      filled = filled - chunkLength;
+      buffer = nextBuffer;
+
+      return chunk;
+    }
+  }
+
+  /**
+   * @return Amount of profiles in all chunks which were read so far.
+   */
+  int getProfilesCount() {
+    return profilesCount;
+  }
+}
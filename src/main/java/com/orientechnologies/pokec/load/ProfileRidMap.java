@@ -0,0 +1,74 @@
+package com.orientechnologies.pokec.load;
+
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Map between id of Pokec profile and RID of vertex which represents this profile. Ids of Pokec profiles are dense, so RIDs are
+ * stored in plain arrays of longs indexed by id, each RID is packed into single long. Pages of the map are allocated lazily.
+ * <p>
+ * Several threads may put RIDs into the map concurrently as long as they put different ids, but content of the map is visible to
+ * other threads only after happens-before edge is established with writers, for example when {@link java.util.concurrent.Future}
+ * of loader is completed.
+ */
+final class ProfileRidMap {
+  private static final int PAGE_SHIFT = 16;
+  private static final int PAGE_SIZE  = 1 << PAGE_SHIFT;
+  private static final int PAGE_MASK  = PAGE_SIZE - 1;
+
+  private static final int  CLUSTER_ID_SHIFT = 48;
+  private static final long POSITION_MASK    = (1L << CLUSTER_ID_SHIFT) - 1;
+
+  private final AtomicReferenceArray<long[]> pages = new AtomicReferenceArray<>(1 << (Integer.SIZE - 1 - PAGE_SHIFT));
+
+  void put(int userId, ORID rid) {
+    if (userId < 0) {
+      throw new IllegalArgumentException("Invalid profile id " + userId);
+    }
+
+    final int pageIndex = userId >>> PAGE_SHIFT;
+    long[] page = pages.get(pageIndex);
+    if (page == null) {
+      final long[] newPage = new long[PAGE_SIZE];
+      if (pages.compareAndSet(pageIndex, null, newPage)) {
+        page = newPage;
+      } else {
+        page = pages.get(pageIndex);
+      }
+    }
+
+    page[userId & PAGE_MASK] = ((long) rid.getClusterId() << CLUSTER_ID_SHIFT) | rid.getClusterPosition();
+  }
+
+  boolean contains(int userId) {
+    if (userId < 0) {
+      return false;
+    }
+
+    final long[] page = pages.get(userId >>> PAGE_SHIFT);
+    return page != null && page[userId & PAGE_MASK] != 0;
+  }
+
+  /**
+   * @return RID of profile with given id or <code>null</code> if such profile was not loaded.
+   */
+  ORID get(int userId) {
+    if (userId < 0) {
+      return null;
+    }
+
+    final long[] page = pages.get(userId >>> PAGE_SHIFT);
+    if (page == null) {
+      return null;
+    }
+
+    final long packedRid = page[userId & PAGE_MASK];
+    if (packedRid == 0) {
+      return null;
+    }
+
+    return new ORecordId((int) (packedRid >>> CLUSTER_ID_SHIFT), packedRid & POSITION_MASK);
+  }
+}
@@ -0,0 +1,50 @@
+package com.orientechnologies.pokec.load;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads profiles from {@link PokecSnapshot} by blocks and passes them to {@link PokecProfileLoader}. Several readers share
+ * counter of blocks, so each block is read only once.
+ */
+public class SnapshotProfileReader implements Callable<Void> {
+  private static final int BLOCK_SIZE = 4 * 1024;
+
+  private final PokecSnapshot                          snapshot;
+  private final AtomicInteger                          blockCounter;
+  private final int                                    firstProfile;
+  private final ArrayBlockingQueue<List<PokecProfile>> batchQueue;
+
+  /**
+   * @param firstProfile Index of the first profile which should be read, all previous profiles are already loaded.
+   */
+  SnapshotProfileReader(PokecSnapshot snapshot, AtomicInteger blockCounter, int firstProfile,
+      ArrayBlockingQueue<List<PokecProfile>> batchQueue) {
+    this.snapshot = snapshot;
+    this.blockCounter = blockCounter;
+    this.firstProfile = firstProfile;
+    this.batchQueue = batchQueue;
+  }
+
+  @Override
+  public Void call() throws Exception {
+    try {
+      final int profilesCount = snapshot.getProfilesCount();
+
+      while (true) {
+        final long blockStart = firstProfile + (long) blockCounter.getAndIncrement() * BLOCK_SIZE;
+        if (blockStart >= profilesCount) {
+          return null;
+        }
+
+        final int count = (int) Math.min(BLOCK_SIZE, profilesCount - blockStart);
+        batchQueue.put(snapshot.readProfiles((int) blockStart, count));
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.orientechnologies.pokec.load;
+
+import java.nio.IntBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Reads continuous range of relations from {@link PokecSnapshot} and passes them to the queue of single
+ * {@link PokecRelationsLoader}. Relations in the snapshot are sorted by id of the source profile as in the original dump, so
+ * relations of the same profile are mostly processed by the same loader.
+ */
+public class SnapshotRelationsReader implements Callable<Void> {
+  private static final int WINDOW_SIZE = 1024 * 1024;
+
+  private final PokecSnapshot             snapshot;
+  private final long                      firstRelation;
+  private final long                      lastRelation;
+  private final ArrayBlockingQueue<int[]> relationsQueue;
+
+  /**
+   * @param firstRelation Index of the first relation to read, it is greater than the index of the first relation of the range
+   *                      if part of the range was loaded before the load was resumed.
+   * @param lastRelation  Index of the relation which follows the last relation to read.
+   */
+  SnapshotRelationsReader(PokecSnapshot snapshot, long firstRelation, long lastRelation, ArrayBlockingQueue<int[]> relationsQueue) {
+    this.snapshot = snapshot;
+    this.firstRelation = firstRelation;
+    this.lastRelation = lastRelation;
+    this.relationsQueue = relationsQueue;
+  }
+
+  @Override
+  public Void call() throws Exception {
+    try {
+      long windowStart = firstRelation;
+      while (windowStart < lastRelation) {
+        final int count = (int) Math.min(WINDOW_SIZE, lastRelation - windowStart);
+        final IntBuffer relations = snapshot.mapRelations(windowStart, count);
+
+        for (int i = 0; i < count; i++) {
+          final int[] fromTo = new int[2];
+          fromTo[0] = relations.get(2 * i);
+          fromTo[1] = relations.get(2 * i + 1);
+
+          relationsQueue.put(fromTo);
+        }
+
+        windowStart += count;
+      }
+
+      return null;
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.orientechnologies.pokec.mixed;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.pokec.PokecWorkload;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import com.orientechnologies.pokec.contentupdate.PokecUpdater;
+import com.orientechnologies.pokec.contentupdate.UpdatePayloadPool;
+import org.apache.commons.cli.CommandLine;
+
+public class PokecMixed extends PokecWorkload {
+  private double readRatio;
+  private double updateRatio;
+  private double insertRatio;
+
+  private UpdatePayloadPool payloadPool;
+
+  public static void main(String[] args) throws Exception {
+    new PokecMixed().run(args);
+  }
+
+  @Override
+  protected void configure(CommandLine cmd) {
+    readRatio = CommandLineUtils.getReadRatio(cmd);
+    updateRatio = CommandLineUtils.getUpdateRatio(cmd);
+    insertRatio = CommandLineUtils.getInsertRatio(cmd);
+
+    if (readRatio < 0 || updateRatio < 0 || insertRatio < 0 || Math.abs(readRatio + updateRatio + insertRatio - 1.0) > 1e-6) {
+      throw new IllegalArgumentException(
+          "Ratios of operations should be non negative and their sum should be equal to 1, but read ratio is " + readRatio
+              + ", update ratio is " + updateRatio + ", insert ratio is " + insertRatio);
+    }
+
+    System.out.printf("Mixed workload, read ratio %.3f, update ratio %.3f, insert ratio %.3f\n", readRatio, updateRatio,
+        insertRatio);
+  }
+
+  @Override
+  protected void prepare(CommandLine cmd, ODatabaseSession session, long profilesCount) {
+    payloadPool = PokecUpdater.createPayloadPool(cmd, session, profilesCount);
+  }
+
+  @Override
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecMixedTask(iterationsCount, context, readRatio, updateRatio, payloadPool);
+  }
+}
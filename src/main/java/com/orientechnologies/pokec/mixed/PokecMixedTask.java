@@ -0,0 +1,87 @@
+package com.orientechnologies.pokec.mixed;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.record.OVertex;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.ProfilesCounter;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import com.orientechnologies.pokec.contentupdate.PokecUpdater;
+import com.orientechnologies.pokec.contentupdate.UpdatePayloadPool;
+import com.orientechnologies.pokec.insert.PokecInserter;
+import com.orientechnologies.pokec.read.PokecReader;
+
+import java.util.Random;
+
+/**
+ * Performs reads, updates and inserts of profiles in given proportion. Reads and updates use the same distribution of keys,
+ * inserts add new profiles with keys which follow the last existing profile.
+ */
+public class PokecMixedTask extends PokecWorkloadTask {
+  private static final int READ   = 0;
+  private static final int UPDATE = 1;
+  private static final int INSERT = 2;
+
+  private static final String[] OPERATIONS = { "read", "update", "insert" };
+
+  private final double            readRatio;
+  private final double            updateRatio;
+  private final ProfilesCounter   profilesCounter;
+  private final UpdatePayloadPool payloadPool;
+
+  private int  operation;
+  private long profileIndex;
+
+  PokecMixedTask(int iterationsCount, WorkloadContext context, double readRatio, double updateRatio,
+      UpdatePayloadPool payloadPool) {
+    super(iterationsCount, context, OPERATIONS);
+
+    this.readRatio = readRatio;
+    this.updateRatio = updateRatio;
+    this.profilesCounter = context.getProfilesCounter();
+    this.payloadPool = payloadPool;
+  }
+
+  @Override
+  protected int executeIteration(ODatabaseSession session, Random random) {
+    final double operationValue = random.nextDouble();
+    if (operationValue < readRatio) {
+      operation = READ;
+    } else if (operationValue < readRatio + updateRatio) {
+      operation = UPDATE;
+    } else {
+      operation = INSERT;
+    }
+
+    if (operation == INSERT) {
+      profileIndex = profilesCounter.nextIndex();
+      if (executeInTransaction(session, null, random)) {
+        profilesCounter.committed(profileIndex);
+      } else {
+        profilesCounter.failed(profileIndex);
+      }
+    } else {
+      final OVertex vertex = loadRandomProfile(session);
+      executeInTransaction(session, vertex, random);
+    }
+
+    return operation;
+  }
+
+  @Override
+  public void execute(ODatabaseSession session, OVertex vertex, KeyDistribution keyDistribution, int itemsCount, Random random) {
+    switch (operation) {
+    case READ:
+      PokecReader.readProfile(vertex);
+      break;
+    case UPDATE:
+      PokecUpdater.updateProfile(vertex, payloadPool, random);
+      break;
+    case INSERT:
+      PokecInserter.insertProfile(session, profileIndex, getKey(profileIndex), payloadPool, random);
+      break;
+    default:
+      throw new IllegalStateException("Invalid type of operation " + operation);
+    }
+  }
+}
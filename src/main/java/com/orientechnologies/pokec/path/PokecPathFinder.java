@@ -0,0 +1,162 @@
+package com.orientechnologies.pokec.path;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.ODirection;
+import com.orientechnologies.orient.core.record.OVertex;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.KeyDistribution;
+import com.orientechnologies.pokec.common.UniformKeyDistribution;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Searches for the shortest path between two profiles, source profile is chosen using Zipfian distribution and target profile is
+ * chosen using uniform distribution. Latency of search is reported separately for each length of found path.
+ */
+public class PokecPathFinder extends PokecWorkloadTask {
+  private static final KeyDistribution TARGET_DISTRIBUTION = new UniformKeyDistribution();
+
+  private final boolean    sqlMode;
+  private final int        maxDepth;
+  private final ODirection direction;
+
+  private final Map<ORID, Integer> forwardVisited   = new HashMap<>();
+  private final Map<ORID, Integer> backwardVisited  = new HashMap<>();
+  private final List<OVertex>      forwardFrontier  = new ArrayList<>();
+  private final List<OVertex>      backwardFrontier = new ArrayList<>();
+  private final List<OVertex>      next             = new ArrayList<>();
+
+  /**
+   * @param pathLengths Names of types of operations, one for each length of path from 0 till <code>maxDepth</code> and the last
+   *                    one for the case when path is not found.
+   */
+  PokecPathFinder(int iterationsCount, WorkloadContext context, String[] pathLengths, boolean sqlMode, int maxDepth,
+      ODirection direction) {
+    super(iterationsCount, context, pathLengths);
+
+    this.sqlMode = sqlMode;
+    this.maxDepth = maxDepth;
+    this.direction = direction;
+  }
+
+  @Override
+  protected int executeIteration(ODatabaseSession session, Random random) {
+    final OVertex source = loadRandomProfile(session);
+    final OVertex target = loadRandomProfile(session, TARGET_DISTRIBUTION);
+
+    final int length;
+    if (sqlMode) {
+      length = sqlShortestPath(session, source, target);
+    } else {
+      length = bidirectionalSearch(source, target);
+    }
+
+    if (length < 0) {
+      return maxDepth + 1;
+    }
+
+    return length;
+  }
+
+  /**
+   * @return Length of the shortest path or -1 if path is not found.
+   */
+  private int sqlShortestPath(ODatabaseSession session, OVertex source, OVertex target) {
+    final String query = String
+        .format("select shortestPath(%s, %s, '%s', null, {\"maxDepth\": %d}) as path", source.getIdentity(), target.getIdentity(),
+            direction, maxDepth);
+
+    try (OResultSet resultSet = session.query(query)) {
+      final List<ORID> path = resultSet.next().getProperty("path");
+      if (path == null || path.isEmpty()) {
+        return -1;
+      }
+
+      return path.size() - 1;
+    }
+  }
+
+  /**
+   * Runs breadth first search from both ends of the path, on each step the smaller frontier is expanded.
+   *
+   * @return Length of the shortest path or -1 if path is not found.
+   */
+  private int bidirectionalSearch(OVertex source, OVertex target) {
+    if (source.getIdentity().equals(target.getIdentity())) {
+      return 0;
+    }
+
+    forwardVisited.clear();
+    backwardVisited.clear();
+    forwardFrontier.clear();
+    backwardFrontier.clear();
+
+    forwardVisited.put(source.getIdentity(), 0);
+    forwardFrontier.add(source);
+
+    backwardVisited.put(target.getIdentity(), 0);
+    backwardFrontier.add(target);
+
+    int forwardDepth = 0;
+    int backwardDepth = 0;
+
+    int length = -1;
+    while (forwardDepth + backwardDepth < maxDepth && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+      if (forwardFrontier.size() <= backwardFrontier.size()) {
+        forwardDepth++;
+        length = expand(forwardFrontier, forwardVisited, backwardVisited, forwardDepth, direction);
+      } else {
+        backwardDepth++;
+        length = expand(backwardFrontier, backwardVisited, forwardVisited, backwardDepth, direction.opposite());
+      }
+
+      if (length >= 0) {
+        break;
+      }
+    }
+
+    forwardFrontier.clear();
+    backwardFrontier.clear();
+    next.clear();
+
+    return length;
+  }
+
+  /**
+   * Expands single level of the frontier.
+   *
+   * @return Length of the shortest path if frontier met visited vertices of the opposite search or -1 otherwise.
+   */
+  private int expand(List<OVertex> frontier, Map<ORID, Integer> visited, Map<ORID, Integer> oppositeVisited, int depth,
+      ODirection direction) {
+    next.clear();
+
+    int length = -1;
+    for (OVertex vertex : frontier) {
+      for (OVertex neighbour : vertex.getVertices(direction)) {
+        final ORID identity = neighbour.getIdentity();
+
+        final Integer oppositeDepth = oppositeVisited.get(identity);
+        if (oppositeDepth != null) {
+          if (length < 0 || depth + oppositeDepth < length) {
+            length = depth + oppositeDepth;
+          }
+        } else if (visited.putIfAbsent(identity, depth) == null) {
+          next.add(neighbour);
+        }
+      }
+    }
+
+    frontier.clear();
+    frontier.addAll(next);
+
+    return length;
+  }
+}
@@ -0,0 +1,40 @@
+package com.orientechnologies.pokec.path;
+
+import com.orientechnologies.orient.core.record.ODirection;
+import com.orientechnologies.pokec.PokecWorkload;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import org.apache.commons.cli.CommandLine;
+
+public class PokecShortestPath extends PokecWorkload {
+  private boolean    sqlMode;
+  private int        maxDepth;
+  private ODirection direction;
+  private String[]   pathLengths;
+
+  public static void main(String[] args) throws Exception {
+    new PokecShortestPath().run(args);
+  }
+
+  @Override
+  protected void configure(CommandLine cmd) {
+    sqlMode = CommandLineUtils.isSQLPathMode(cmd);
+    maxDepth = CommandLineUtils.getPathMaxDepth(cmd);
+    direction = CommandLineUtils.getTraversalDirection(cmd);
+
+    pathLengths = new String[maxDepth + 2];
+    for (int i = 0; i <= maxDepth; i++) {
+      pathLengths[i] = "length " + i;
+    }
+    pathLengths[maxDepth + 1] = "not found";
+
+    System.out.printf("Search of shortest path using %s over %s edges, maximum path length %d\n",
+        sqlMode ? "SQL shortestPath() function" : "bidirectional BFS on client side", direction, maxDepth);
+  }
+
+  @Override
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecPathFinder(iterationsCount, context, pathLengths, sqlMode, maxDepth, direction);
+  }
+}
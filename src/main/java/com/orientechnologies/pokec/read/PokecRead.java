@@ -1,11 +1,8 @@
 package com.orientechnologies.pokec.read;
 
-import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.pokec.PokecWorkload;
 import com.orientechnologies.pokec.PokecWorkloadTask;
-import com.orientechnologies.pokec.common.ZipfianGenerator;
-
-import java.util.concurrent.atomic.AtomicInteger;
+import com.orientechnologies.pokec.WorkloadContext;
 
 public class PokecRead extends PokecWorkload {
   public static void main(String[] args) throws Exception {
@@ -13,8 +10,7 @@ public class PokecRead extends PokecWorkload {
   }
 
   @Override
-  public PokecWorkloadTask createTask(int iterationsCount, ODatabasePool pool, ZipfianGenerator zipfianGenerator, int itemsCount,
-      AtomicInteger iterationsCounter) {
-    return new PokecReader(iterationsCount, pool, zipfianGenerator, itemsCount, iterationsCounter);
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecReader(iterationsCount, context);
   }
 }
@@ -0,0 +1,35 @@
+package com.orientechnologies.pokec.traverse;
+
+import com.orientechnologies.orient.core.record.ODirection;
+import com.orientechnologies.pokec.PokecWorkload;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+import com.orientechnologies.pokec.common.CommandLineUtils;
+import org.apache.commons.cli.CommandLine;
+
+public class PokecTraverse extends PokecWorkload {
+  private int        depth;
+  private ODirection direction;
+  private int        fanOut;
+  private int        maxVisited;
+
+  public static void main(String[] args) throws Exception {
+    new PokecTraverse().run(args);
+  }
+
+  @Override
+  protected void configure(CommandLine cmd) {
+    depth = CommandLineUtils.getTraversalDepth(cmd);
+    direction = CommandLineUtils.getTraversalDirection(cmd);
+    fanOut = CommandLineUtils.getTraversalFanOut(cmd);
+    maxVisited = CommandLineUtils.getTraversalMaxVisited(cmd);
+
+    System.out.printf("Traversal of %d hops over %s edges, fan-out limit %d, limit of visited vertices %d (0 means no limit)\n",
+        depth, direction, fanOut, maxVisited);
+  }
+
+  @Override
+  public PokecWorkloadTask createTask(int iterationsCount, WorkloadContext context) {
+    return new PokecTraverser(iterationsCount, context, depth, direction, fanOut, maxVisited);
+  }
+}
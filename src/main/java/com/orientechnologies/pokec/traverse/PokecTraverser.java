@@ -0,0 +1,104 @@
+package com.orientechnologies.pokec.traverse;
+
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.ODirection;
+import com.orientechnologies.orient.core.record.OVertex;
+import com.orientechnologies.pokec.PokecWorkloadTask;
+import com.orientechnologies.pokec.WorkloadContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Expands neighbourhood of profile chosen using Zipfian distribution on the given amount of hops. Latency of traversal is
+ * reported separately for each range of amount of visited vertices.
+ */
+public class PokecTraverser extends PokecWorkloadTask {
+  private static final String[] VISITED_RANGES = { "visited 0-9", "visited 10-99", "visited 100-999", "visited 1000-9999",
+      "visited 10000-99999", "visited 100000+" };
+
+  private final int        depth;
+  private final ODirection direction;
+  private final int        fanOut;
+  private final int        maxVisited;
+
+  private final Set<ORID>     visited  = new HashSet<>();
+  private final List<OVertex> frontier = new ArrayList<>();
+  private final List<OVertex> next     = new ArrayList<>();
+
+  /**
+   * @param fanOut     Maximum amount of neighbours which are expanded for each vertex, or 0 if all neighbours are expanded.
+   * @param maxVisited Maximum amount of vertices visited by single traversal, or 0 if amount of vertices is not limited.
+   */
+  PokecTraverser(int iterationsCount, WorkloadContext context, int depth, ODirection direction, int fanOut, int maxVisited) {
+    super(iterationsCount, context, VISITED_RANGES);
+
+    this.depth = depth;
+    this.direction = direction;
+    this.fanOut = fanOut;
+    this.maxVisited = maxVisited;
+  }
+
+  @Override
+  protected int executeIteration(ODatabaseSession session, Random random) {
+    final OVertex vertex = loadRandomProfile(session);
+    final int visitedCount = traverse(vertex);
+
+    int range = 0;
+    int rangeLimit = 10;
+    while (visitedCount >= rangeLimit && range < VISITED_RANGES.length - 1) {
+      range++;
+      rangeLimit *= 10;
+    }
+
+    return range;
+  }
+
+  /**
+   * @return Amount of visited vertices, start vertex is not taken into account.
+   */
+  private int traverse(OVertex start) {
+    visited.clear();
+    frontier.clear();
+
+    visited.add(start.getIdentity());
+    frontier.add(start);
+
+    traversal:
+    for (int hop = 0; hop < depth; hop++) {
+      next.clear();
+
+      for (OVertex vertex : frontier) {
+        int neighbours = 0;
+        for (OVertex neighbour : vertex.getVertices(direction)) {
+          if (fanOut > 0 && neighbours >= fanOut) {
+            break;
+          }
+          neighbours++;
+
+          if (visited.add(neighbour.getIdentity())) {
+            if (hop < depth - 1) {
+              next.add(neighbour);
+            }
+
+            if (maxVisited > 0 && visited.size() > maxVisited) {
+              break traversal;
+            }
+          }
+        }
+      }
+
+      frontier.clear();
+      frontier.addAll(next);
+    }
+
+    frontier.clear();
+    next.clear();
+
+    return visited.size() - 1;
+  }
+}